@@ -0,0 +1,114 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable index of a list of tweets by author, answering Filter.writtenBy
+ * queries with one hash lookup instead of comparing every tweet's author.
+ *
+ * Each case-folded username maps to the ascending positions of the tweets it
+ * wrote. The index is built in one pass over the list.
+ */
+public class AuthorIndex {
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final List<Tweet> tweets;
+    private final Map<String, int[]> positions;
+    /* Rep invariant:
+     *    for every key a of positions, positions.get(a) is nonempty, strictly
+     *    ascending, and holds exactly the positions p such that
+     *    tweets.get(p).getAuthor() case-folds to a
+     * Abstraction function:
+     *    represents the list tweets, grouped by case-folded author
+     * Safety from rep exposure:
+     *    tweets is a private copy; positions arrays are copied on the way out
+     */
+
+    private AuthorIndex(List<Tweet> tweets, Map<String, int[]> positions) {
+        this.tweets = tweets;
+        this.positions = positions;
+    }
+
+    /**
+     * Make an author index of tweets.
+     *
+     * @param tweets tweets to index, not modified by this method
+     * @return an index whose positions are the indexes of tweets
+     */
+    public static AuthorIndex of(List<Tweet> tweets) {
+        List<Tweet> copy = new ArrayList<>(tweets);
+        Map<String, IntList> building = new HashMap<>();
+        for (int p = 0; p < copy.size(); p++) {
+            String author = CaseFolding.foldCase(copy.get(p).getAuthor());
+            IntList list = building.get(author);
+            if (list == null) {
+                list = new IntList();
+                building.put(author, list);
+            }
+            list.add(p);
+        }
+        Map<String, int[]> positions = new HashMap<>();
+        for (Map.Entry<String, IntList> entry : building.entrySet()) {
+            positions.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return new AuthorIndex(copy, positions);
+    }
+
+    /**
+     * @return number of tweets indexed
+     */
+    public int size() {
+        return tweets.size();
+    }
+
+    /**
+     * @return the distinct authors of the indexed tweets, case-folded
+     */
+    public Set<String> authors() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    /**
+     * @param username a Twitter username, in any case
+     * @return number of indexed tweets written by username
+     */
+    public int countWrittenBy(String username) {
+        int[] found = positions.get(CaseFolding.foldCase(username));
+        return found == null ? 0 : found.length;
+    }
+
+    /**
+     * @param username a Twitter username, in any case
+     * @return ascending positions of the indexed tweets written by username
+     */
+    public int[] positionsWrittenBy(String username) {
+        int[] found = positions.get(CaseFolding.foldCase(username));
+        return found == null ? NO_POSITIONS : found.clone();
+    }
+
+    /**
+     * @param username a Twitter username, in any case
+     * @return the indexed tweets written by username, in the same order as in
+     *         the indexed list; the same as Filter.writtenBy over it
+     */
+    public List<Tweet> writtenBy(String username) {
+        int[] found = positions.get(CaseFolding.foldCase(username));
+        if (found == null) {
+            return new ArrayList<>();
+        }
+        List<Tweet> result = new ArrayList<>(found.length);
+        for (int position : found) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+}
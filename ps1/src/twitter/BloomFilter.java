@@ -0,0 +1,130 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings: a compact set membership test that may
+ * answer "maybe present" for a string that was never added, but never answers
+ * "absent" for one that was.
+ *
+ * The filter is a power-of-two bit array with HASHES probes per string,
+ * derived by double hashing from two independent 32-bit hashes of the
+ * string's characters. Sized at BITS_PER_KEY bits per key, about 1% of absent
+ * strings test as maybe present.
+ */
+class BloomFilter {
+
+    static final int HASHES = 7;
+    private static final int BITS_PER_KEY = 10;
+
+    private final long[] words;
+    private final int mask;
+    /* Rep invariant:
+     *    words.length is a power of two, and mask == 64 * words.length - 1
+     * Abstraction function:
+     *    represents a set that includes every string s whose HASHES probe
+     *    bits are all set in words, and possibly others
+     */
+
+    private BloomFilter(long[] words) {
+        this.words = words;
+        this.mask = 64 * words.length - 1;
+    }
+
+    /**
+     * @param keys strings to add
+     * @return a filter sized for keys, that contains every key
+     */
+    static BloomFilter of(Collection<String> keys) {
+        long bits = Math.max(64, (long) keys.size() * BITS_PER_KEY);
+        int wordCount = Integer.highestOneBit((int) Math.min(1 << 26, (bits + 63) / 64 * 2 - 1));
+        BloomFilter filter = new BloomFilter(new long[wordCount]);
+        for (String key : keys) {
+            int h1 = hash1(key);
+            int h2 = hash2(key);
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (h1 + i * h2) & filter.mask;
+                filter.words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return filter;
+    }
+
+    /**
+     * @param key a string
+     * @return false if key was certainly not added to this filter; true if it
+     *         may have been
+     */
+    boolean mightContain(String key) {
+        int h1 = hash1(key);
+        int h2 = hash2(key);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return size of this filter in bits
+     */
+    int bitCount() {
+        return 64 * words.length;
+    }
+
+    /**
+     * Write this filter, in a form read() reads back.
+     */
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Read a filter written by write().
+     *
+     * @throws IOException if in cannot be read or does not hold a filter
+     */
+    static BloomFilter read(DataInputStream in) throws IOException {
+        int wordCount = in.readInt();
+        if (wordCount <= 0 || Integer.bitCount(wordCount) != 1 || wordCount > 1 << 26) {
+            throw new IOException("corrupt Bloom filter of " + wordCount + " words");
+        }
+        long[] words = new long[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = in.readLong();
+        }
+        return new BloomFilter(words);
+    }
+
+    /*
+     * String.hashCode, with its bits mixed so that the low bits used for
+     * probing depend on every character.
+     */
+    private static int hash1(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /*
+     * FNV-1a over the characters, forced odd so that the probe sequence
+     * h1 + i*h2 visits distinct bits.
+     */
+    private static int hash2(String key) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        return h | 1;
+    }
+}
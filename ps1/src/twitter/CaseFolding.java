@@ -0,0 +1,57 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+/**
+ * The case folding used by every index and graph in this package, for both
+ * usernames and words.
+ *
+ * Filter compares usernames and words with String.equalsIgnoreCase, which
+ * treats two characters as equal if they are equal after toUpperCase, or
+ * after toUpperCase then toLowerCase. Folding each character with
+ * toLowerCase(toUpperCase(c)) gives equal strings exactly for strings that
+ * equalsIgnoreCase says are equal, so a lookup keyed by folded strings agrees
+ * with a Filter scan. String.toLowerCase would not: it leaves final sigma and
+ * sigma distinct, and can change the length of a string.
+ *
+ * Mentions found by MentionScanner consist of ASCII characters only and are
+ * lowered by it, which is the same as folding them.
+ */
+final class CaseFolding {
+
+    private CaseFolding() {}
+
+    /**
+     * @param s a string
+     * @return s with every character folded, so that strings equal ignoring
+     *         case (as String.equalsIgnoreCase defines it) fold to equal strings
+     */
+    static String foldCase(String s) {
+        int length = s.length();
+        int i = 0;
+        while (i < length && foldCase(s.charAt(i)) == s.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return s; // already folded, as most usernames and words are
+        }
+        char[] folded = s.toCharArray();
+        for (; i < length; i++) {
+            folded[i] = foldCase(folded[i]);
+        }
+        return new String(folded);
+    }
+
+    /**
+     * @param c a character
+     * @return c folded, so that characters equal ignoring case fold to the
+     *         same character
+     */
+    static char foldCase(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,306 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable social network, as defined in SocialNetwork, stored in compressed
+ * sparse row (CSR) form for large graphs.
+ *
+ * Usernames are interned as int ids, which are their positions in a sorted
+ * array of case-folded usernames. The users that user id follows are the ids
+ * targets[offsets[id] .. offsets[id+1]), in ascending order, and a reverse
+ * index in the same form lists each user's followers. An edge therefore costs
+ * two ints (8 bytes) instead of the hash table entries of a
+ * Map<String, Set<String>>, and a user's edges are contiguous in memory.
+ * Looking a username up costs O(log U) for U users; follower counts are
+ * differences of reverse offsets.
+ *
+ * Usernames are not case sensitive, as in SocialNetwork: a user gets one id
+ * however its name is spelled in the map, and every observer that takes a
+ * username looks it up case-folded (CaseFolding). Each user keeps the
+ * spelling it has as a key of the map, or else one of its spellings as a
+ * followed user, so converting a map in which every user is spelled one way
+ * to a CompactFollowsGraph and back gives an equal map.
+ */
+public class CompactFollowsGraph {
+
+    private final String[] names;
+    private final String[] foldedNames;
+    private final BitSet keys;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] reverseOffsets;
+    private final int[] sources;
+    /* Rep invariant:
+     *    foldedNames.length == names.length, and foldedNames[u] is
+     *    CaseFolding.foldCase(names[u])
+     *    foldedNames is sorted in strictly ascending order
+     *    offsets.length == reverseOffsets.length == names.length + 1
+     *    offsets and reverseOffsets are nondecreasing from 0 to
+     *    targets.length == sources.length
+     *    each row targets[offsets[id] .. offsets[id+1]) is strictly ascending,
+     *    and so is each row of sources
+     *    v is in row u of targets iff u is in row v of sources
+     *    keys has no bit set at or above names.length, and every id with a
+     *    nonempty row of targets is in keys
+     * Abstraction function:
+     *    represents the social network in which names[u] follows names[v]
+     *    iff v is in row u of targets, and whose keys are names[u] for u in
+     *    keys (those with an empty row follow nobody)
+     * Safety from rep exposure:
+     *    all fields are private and never mutated after construction;
+     *    observers return strings, ints, new maps, and unmodifiable list
+     *    views of rows that are never mutated
+     */
+
+    private CompactFollowsGraph(String[] names, String[] foldedNames, BitSet keys, int[] offsets, int[] targets) {
+        this.names = names;
+        this.foldedNames = foldedNames;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.targets = targets;
+
+        // reverse index: count in-degrees, then place sources in ascending id order
+        int[] reverseOffsets = new int[names.length + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int id = 0; id < names.length; id++) {
+            reverseOffsets[id + 1] += reverseOffsets[id];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, names.length);
+        int[] sources = new int[targets.length];
+        for (int source = 0; source < names.length; source++) {
+            for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+                sources[next[targets[e]]++] = source;
+            }
+        }
+        this.reverseOffsets = reverseOffsets;
+        this.sources = sources;
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert foldedNames.length == names.length;
+        assert offsets.length == names.length + 1;
+        assert reverseOffsets.length == names.length + 1;
+        assert offsets[names.length] == targets.length;
+        assert reverseOffsets[names.length] == sources.length;
+        assert keys.length() <= names.length;
+        for (int id = 0; id < names.length; id++) {
+            for (int e = offsets[id] + 1; e < offsets[id + 1]; e++) {
+                assert targets[e - 1] < targets[e];
+            }
+        }
+    }
+
+    /**
+     * Convert a social network from its map form.
+     *
+     * @param followsGraph a social network, as defined in SocialNetwork; not
+     *                     modified by this method
+     * @return a compact graph with the same keys and edges as followsGraph,
+     *         ignoring case: keys that differ only in case become one user,
+     *         who follows every user that any of them follows, once
+     */
+    public static CompactFollowsGraph of(Map<String, Set<String>> followsGraph) {
+        // one spelling per folded username, preferring the key's
+        Map<String, String> spellings = new HashMap<>();
+        for (String user : followsGraph.keySet()) {
+            spellings.put(CaseFolding.foldCase(user), user);
+        }
+        int edges = 0;
+        for (Set<String> follows : followsGraph.values()) {
+            for (String followed : follows) {
+                spellings.putIfAbsent(CaseFolding.foldCase(followed), followed);
+            }
+            edges += follows.size();
+        }
+        String[] foldedNames = spellings.keySet().toArray(new String[spellings.size()]);
+        Arrays.sort(foldedNames);
+        String[] names = new String[foldedNames.length];
+        Map<String, Integer> ids = new HashMap<>(2 * names.length);
+        for (int id = 0; id < names.length; id++) {
+            names[id] = spellings.get(foldedNames[id]);
+            ids.put(foldedNames[id], id);
+        }
+
+        // keys that fold to the same user share a row, and followees spelled
+        // two ways appear in it twice until the rows are deduplicated below
+        BitSet keys = new BitSet(names.length);
+        int[] offsets = new int[names.length + 1];
+        for (Map.Entry<String, Set<String>> entry : followsGraph.entrySet()) {
+            int id = ids.get(CaseFolding.foldCase(entry.getKey()));
+            keys.set(id);
+            offsets[id + 1] += entry.getValue().size();
+        }
+        for (int id = 0; id < names.length; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        int[] next = Arrays.copyOf(offsets, names.length);
+        int[] targets = new int[edges];
+        for (Map.Entry<String, Set<String>> entry : followsGraph.entrySet()) {
+            int id = ids.get(CaseFolding.foldCase(entry.getKey()));
+            for (String followed : entry.getValue()) {
+                targets[next[id]++] = ids.get(CaseFolding.foldCase(followed));
+            }
+        }
+
+        // sort each row and drop repeated ids, moving rows down over the gaps
+        int kept = 0;
+        for (int id = 0; id < names.length; id++) {
+            int from = offsets[id];
+            int to = offsets[id + 1];
+            Arrays.sort(targets, from, to);
+            offsets[id] = kept;
+            for (int e = from; e < to; e++) {
+                if (e == from || targets[e] != targets[e - 1]) {
+                    targets[kept++] = targets[e];
+                }
+            }
+        }
+        offsets[names.length] = kept;
+        if (kept < edges) {
+            targets = Arrays.copyOf(targets, kept);
+        }
+        return new CompactFollowsGraph(names, foldedNames, keys, offsets, targets);
+    }
+
+    /**
+     * @return a new social network in map form with the same keys and edges
+     *         as this graph
+     */
+    public Map<String, Set<String>> toMap() {
+        Map<String, Set<String>> map = new HashMap<>(2 * keys.cardinality());
+        for (int id = keys.nextSetBit(0); id >= 0; id = keys.nextSetBit(id + 1)) {
+            Set<String> follows = new HashSet<>(2 * (offsets[id + 1] - offsets[id]));
+            for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+                follows.add(names[targets[e]]);
+            }
+            map.put(names[id], follows);
+        }
+        return map;
+    }
+
+    /**
+     * @return number of distinct usernames in the graph, ignoring case, as
+     *         keys or as followed users
+     */
+    public int userCount() {
+        return names.length;
+    }
+
+    /**
+     * @return number of (follower, followed) edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @param follower a username, not case sensitive
+     * @param followed a username, not case sensitive
+     * @return true iff follower follows followed in this graph
+     */
+    public boolean follows(String follower, String followed) {
+        int a = idOf(follower);
+        int b = idOf(followed);
+        return a >= 0 && b >= 0 && Arrays.binarySearch(targets, offsets[a], offsets[a + 1], b) >= 0;
+    }
+
+    /**
+     * @param user a username, not case sensitive
+     * @return the users that user follows, in alphabetical order ignoring
+     *         case
+     */
+    public List<String> following(String user) {
+        int id = idOf(user);
+        return id < 0 ? Collections.<String>emptyList() : new Row(targets, offsets[id], offsets[id + 1]);
+    }
+
+    /**
+     * @param user a username, not case sensitive
+     * @return the users that follow user, in alphabetical order ignoring case
+     */
+    public List<String> followers(String user) {
+        int id = idOf(user);
+        return id < 0 ? Collections.<String>emptyList() : new Row(sources, reverseOffsets[id], reverseOffsets[id + 1]);
+    }
+
+    /**
+     * @param user a username, not case sensitive
+     * @return number of users that follow user
+     */
+    public int followerCount(String user) {
+        int id = idOf(user);
+        return id < 0 ? 0 : reverseOffsets[id + 1] - reverseOffsets[id];
+    }
+
+    /**
+     * Find the k users with the most followers, in O(U log k) time.
+     *
+     * @param k maximum number of users to return, >= 0
+     * @return the same list as SocialNetwork.influencers(toMap(), k)
+     * @throws IllegalArgumentException if k < 0
+     */
+    public List<String> influencers(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        int[] counts = new int[names.length];
+        for (int id = 0; id < names.length; id++) {
+            counts[id] = reverseOffsets[id + 1] - reverseOffsets[id];
+        }
+        TopK top = new TopK(k, names, counts);
+        for (int id = 0; id < names.length; id++) {
+            if (counts[id] > 0) {
+                top.offer(id);
+            }
+        }
+        return top.drain();
+    }
+
+    private int idOf(String user) {
+        return Arrays.binarySearch(foldedNames, CaseFolding.foldCase(user));
+    }
+
+    /*
+     * Unmodifiable view of the usernames of one row of targets or sources.
+     */
+    private class Row extends AbstractList<String> {
+
+        private final int[] ids;
+        private final int from;
+        private final int to;
+
+        Row(int[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + (to - from));
+            }
+            return names[ids[from + index]];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -3,7 +3,6 @@
  */
 package twitter;
 
-import java.time.Instant;
 import java.util.*;
 
 /**
@@ -24,22 +23,59 @@ public class Extract {
      *         every tweet in the list.
      */
     public static Timespan getTimespan(List<Tweet> tweets) {
-        Instant startInstant = null, endInstant = null;
+        TimespanAccumulator accumulator = new TimespanAccumulator();
         for (Tweet tweet : tweets) {
-            if (Objects.isNull(tweet.getTimestamp())) {
-                continue;
-            }
-            if (Objects.isNull(startInstant) || tweet.getTimestamp().isBefore(startInstant)) {
-                startInstant = tweet.getTimestamp();
-            }
-            if (Objects.isNull(endInstant) || tweet.getTimestamp().isAfter(endInstant)) {
-                endInstant = tweet.getTimestamp();
-            }
+            accumulator.accept(tweet);
+        }
+        if (accumulator.isEmpty()) {
+            throw new NullPointerException("size of tweets is zero");
         }
-        if (Objects.isNull(startInstant) || Objects.isNull(endInstant)) {
+        return accumulator.toTimespan();
+    }
+
+    /**
+     * Get the time period spanned by tweets, reducing the list in parallel
+     * on the common ForkJoinPool. Worth it for very large lists.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @return the same timespan as getTimespan(tweets).
+     */
+    public static Timespan getTimespanParallel(List<Tweet> tweets) {
+        try {
+            return tweets.parallelStream().collect(TimespanAccumulator.collector());
+        } catch (NoSuchElementException nsee) {
             throw new NullPointerException("size of tweets is zero");
         }
-        return new Timespan(startInstant, endInstant);
+    }
+
+    /**
+     * Get the time period spanned by the tweets of a table, scanning its
+     * epoch-second column instead of Instants.
+     * 
+     * @param table
+     *            table of tweets with distinct ids.
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet in the table.
+     */
+    public static Timespan getTimespan(TweetTable table) {
+        if (table.size() == 0) {
+            throw new NullPointerException("size of tweets is zero");
+        }
+        long[] seconds = table.epochSecondColumn();
+        int[] nanos = table.nanoColumn();
+        int first = 0, last = 0;
+        for (int row = 1; row < table.size(); row++) {
+            if (seconds[row] < seconds[first]
+                    || (seconds[row] == seconds[first] && nanos != null && nanos[row] < nanos[first])) {
+                first = row;
+            }
+            if (seconds[row] > seconds[last]
+                    || (seconds[row] == seconds[last] && nanos != null && nanos[row] > nanos[last])) {
+                last = row;
+            }
+        }
+        return new Timespan(table.timestamp(first), table.timestamp(last));
     }
 
     /**
@@ -59,31 +95,40 @@ public class Extract {
      */
     public static Set<String> getMentionedUsers(List<Tweet> tweets) {
         Set<String> result = new HashSet<>();
+        MentionScanner scanner = new MentionScanner();
         for (Tweet tweet : tweets) {
-            result.addAll(getMentionUsersFromText(tweet.getText()));
+            scanner.scan(tweet.getText(), result);
         }
         return result;
     }
 
-    private static Set<String> getMentionUsersFromText(String text) {
-        Set<String> result = new HashSet<>();
-        if (Objects.isNull(text)) {
-            return result;
+    /**
+     * Get usernames mentioned in a list of tweets, scanning the tweets in
+     * parallel on the common ForkJoinPool. Worth it for very large lists.
+     * 
+     * @param tweets
+     *            list of tweets with distinct ids, not modified by this method.
+     * @return the same set as getMentionedUsers(tweets).
+     */
+    public static Set<String> getMentionedUsersParallel(List<Tweet> tweets) {
+        return tweets.parallelStream()
+                .collect(MentionCollector::new, MentionCollector::accept, MentionCollector::combine)
+                .mentions;
+    }
+
+    /*
+     * Per-thread state of getMentionedUsersParallel.
+     */
+    private static class MentionCollector {
+        private final Set<String> mentions = new HashSet<>();
+        private final MentionScanner scanner = new MentionScanner();
+
+        void accept(Tweet tweet) {
+            scanner.scan(tweet.getText(), mentions);
         }
 
-        String[] segmentsSplitBySpace = text.split(" ");
-        for (String segmentSplitBySpace : segmentsSplitBySpace) {
-            String[] segmentSplitByAt = segmentSplitBySpace.split("@");
-            if (segmentSplitByAt.length == 2 && segmentSplitByAt[0].length() == 0) {
-                String unprunedUserName = segmentSplitByAt[1];
-                String[] splitedUserName = unprunedUserName.split("([^a-zA-Z0-9-_]+)", 2);
-                //log
-//                if (splitedUserName.length>1 && splitedUserName[1].length()>1) {
-//                    System.out.println("unexpected suffix: text=" + text + " , splitedUserName=" + Arrays.toString(splitedUserName));
-//                }
-                result.add(splitedUserName[0].toLowerCase());
-            }
+        void combine(MentionCollector other) {
+            mentions.addAll(other.mentions);
         }
-        return result;
     }
 }
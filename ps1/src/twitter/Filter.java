@@ -5,9 +5,10 @@ package twitter;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +41,129 @@ public class Filter {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find tweets written by a particular user, comparing dictionary ids in
+     * the table's author column instead of strings.
+     * 
+     * @param table
+     *            a table of tweets with distinct ids.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @return all and only the tweets in the table whose author is username,
+     *         in the same order as the rows of the table.
+     */
+    public static List<Tweet> writtenBy(TweetTable table, String username) {
+        int authorId = table.authorId(username);
+        if (!validUserName(username) || authorId < 0) {
+            return new ArrayList<>();
+        }
+        int[] authorIds = table.authorIdColumn();
+        int[] rows = new int[table.size()];
+        int count = 0;
+        for (int row = 0; row < table.size(); row++) {
+            if (authorIds[row] == authorId) {
+                rows[count++] = row;
+            }
+        }
+        return table.tweets(Arrays.copyOf(rows, count));
+    }
+
+    /**
+     * Find tweets written by a particular user, looking the user up in an
+     * author index instead of comparing every tweet.
+     * 
+     * @param index
+     *            author index of a list of tweets with distinct ids.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @return the same tweets as writtenBy(tweets, username) for the indexed
+     *         tweets, in the same order as in the indexed list.
+     */
+    public static List<Tweet> writtenBy(AuthorIndex index, String username) {
+        if (!validUserName(username)) {
+            return new ArrayList<>();
+        }
+        return index.writtenBy(username);
+    }
+
+    /**
+     * Find tweets written by a particular user, as a selection over the same
+     * source list rather than a copy.
+     * 
+     * @param selection
+     *            a selection of a list of tweets with distinct ids.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @return selection over selection.source() of the same tweets that
+     *         writtenBy(tweets, username) returns for the selected tweets.
+     */
+    public static TweetSelection writtenBy(TweetSelection selection, String username) {
+        if (!validUserName(username)) {
+            return selection.filter(tweet -> false);
+        }
+        return selection.filter(tweet -> username.equalsIgnoreCase(tweet.getAuthor()));
+    }
+
+    /**
+     * Find tweets written by a particular user, filtering chunks of the list
+     * in parallel on the common pool. Lists below a threshold calibrated on
+     * first use are filtered sequentially.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @return the same tweets as writtenBy(tweets, username), in the same
+     *         order as in the input list.
+     */
+    public static List<Tweet> writtenByParallel(List<Tweet> tweets, String username) {
+        return writtenByParallel(tweets, username, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Find tweets written by a particular user, filtering chunks of the list
+     * in parallel on a given pool.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @param pool
+     *            pool whose workers filter the chunks.
+     * @return the same tweets as writtenBy(tweets, username), in the same
+     *         order as in the input list.
+     */
+    public static List<Tweet> writtenByParallel(List<Tweet> tweets, String username, ForkJoinPool pool) {
+        if (!validUserName(username)) {
+            return new ArrayList<>();
+        }
+        return ParallelFilter.filter(tweets, tweet -> username.equalsIgnoreCase(tweet.getAuthor()), pool);
+    }
+
+    /**
+     * Find tweets written by a particular user, skipping the blocks of tweets
+     * whose author filter rules the user out.
+     * 
+     * @param index
+     *            block index of a list of tweets with distinct ids.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @return the same tweets as writtenBy(tweets, username) for the indexed
+     *         tweets, in the same order as in the indexed list.
+     */
+    public static List<Tweet> writtenBy(TweetBlockIndex index, String username) {
+        if (!validUserName(username)) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(index.writtenBy(username).getTweets());
+    }
+
     private static boolean validUserName(String username) {
         //should be implemented in reality
         return true;
@@ -57,11 +181,113 @@ public class Filter {
      */
     public static List<Tweet> inTimespan(List<Tweet> tweets, Timespan timespan) {
         return tweets.stream()
-                .filter(tweet -> timespan.getStart().isBefore(tweet.getTimestamp())
-                        && timespan.getEnd().isAfter(tweet.getTimestamp()))
+                .filter(tweet -> !tweet.getTimestamp().isBefore(timespan.getStart())
+                        && !tweet.getTimestamp().isAfter(timespan.getEnd()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Find tweets that were sent during a particular timespan, comparing the
+     * table's epoch-second column instead of Instants.
+     * 
+     * @param table
+     *            a table of tweets with distinct ids.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @return all and only the tweets in the table that were sent during the
+     *         timespan, in the same order as the rows of the table.
+     */
+    public static List<Tweet> inTimespan(TweetTable table, Timespan timespan) {
+        long startSecond = timespan.getStart().getEpochSecond();
+        int startNano = timespan.getStart().getNano();
+        long endSecond = timespan.getEnd().getEpochSecond();
+        int endNano = timespan.getEnd().getNano();
+        long[] seconds = table.epochSecondColumn();
+        int[] nanos = table.nanoColumn();
+        int[] rows = new int[table.size()];
+        int count = 0;
+        for (int row = 0; row < table.size(); row++) {
+            long second = seconds[row];
+            if (second < startSecond || second > endSecond) {
+                continue;
+            }
+            int nano = nanos == null ? 0 : nanos[row];
+            if ((second == startSecond && nano < startNano) || (second == endSecond && nano > endNano)) {
+                continue;
+            }
+            rows[count++] = row;
+        }
+        return table.tweets(Arrays.copyOf(rows, count));
+    }
+
+    /**
+     * Find tweets that were sent during a particular timespan, by binary
+     * search in a time index instead of comparing every tweet.
+     * 
+     * @param index
+     *            time index of a list of tweets with distinct ids.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @return the same tweets as inTimespan(tweets, timespan) for the indexed
+     *         tweets, in the same order as in the indexed list.
+     */
+    public static List<Tweet> inTimespan(TweetTimeIndex index, Timespan timespan) {
+        return index.inTimespan(timespan);
+    }
+
+    /**
+     * Find tweets that were sent during a particular timespan, as a selection
+     * over the same source list rather than a copy.
+     * 
+     * @param selection
+     *            a selection of a list of tweets with distinct ids.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @return selection over selection.source() of the same tweets that
+     *         inTimespan(tweets, timespan) returns for the selected tweets.
+     */
+    public static TweetSelection inTimespan(TweetSelection selection, Timespan timespan) {
+        Instant start = timespan.getStart();
+        Instant end = timespan.getEnd();
+        return selection.filter(tweet -> !tweet.getTimestamp().isBefore(start) && !tweet.getTimestamp().isAfter(end));
+    }
+
+    /**
+     * Find tweets that were sent during a particular timespan, filtering
+     * chunks of the list in parallel on the common pool. Lists below a
+     * threshold calibrated on first use are filtered sequentially.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @return the same tweets as inTimespan(tweets, timespan), in the same
+     *         order as in the input list.
+     */
+    public static List<Tweet> inTimespanParallel(List<Tweet> tweets, Timespan timespan) {
+        return inTimespanParallel(tweets, timespan, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Find tweets that were sent during a particular timespan, filtering
+     * chunks of the list in parallel on a given pool.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @param pool
+     *            pool whose workers filter the chunks.
+     * @return the same tweets as inTimespan(tweets, timespan), in the same
+     *         order as in the input list.
+     */
+    public static List<Tweet> inTimespanParallel(List<Tweet> tweets, Timespan timespan, ForkJoinPool pool) {
+        Instant start = timespan.getStart();
+        Instant end = timespan.getEnd();
+        return ParallelFilter.filter(tweets,
+                tweet -> !tweet.getTimestamp().isBefore(start) && !tweet.getTimestamp().isAfter(end), pool);
+    }
+
     /**
      * Find tweets that contain certain words.
      * 
@@ -78,12 +304,257 @@ public class Filter {
      *         same order as in the input list.
      */
     public static List<Tweet> containing(List<Tweet> tweets, List<String> words) {
+        return containing(tweets, WordMatcher.compile(words));
+    }
+
+    /**
+     * Find tweets that contain certain words, using a matcher compiled once
+     * from the words, so each tweet's text is scanned once.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param matcher
+     *            matcher compiled from the words to search for.
+     * @return the same tweets as containing(tweets, words) for the words the
+     *         matcher was compiled from, in the same order as in the input list.
+     */
+    public static List<Tweet> containing(List<Tweet> tweets, WordMatcher matcher) {
         return tweets.stream()
-                .filter(tweet -> textContainsWords(tweet.getText(), words))
+                .filter(tweet -> matcher.matches(tweet.getText()))
                 .collect(Collectors.toList());
     }
 
-    private static boolean textContainsWords(String text, List<String> words) {
-        return words.stream().anyMatch(word -> Pattern.compile(Pattern.quote(word), Pattern.CASE_INSENSITIVE).matcher(text).find());
+    /**
+     * Find tweets that contain certain words, skipping the blocks of tweets
+     * whose word filter rules all of the words out.
+     * 
+     * @param index
+     *            block index of a list of tweets with distinct ids.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @return the same tweets as containing(tweets, words) for the indexed
+     *         tweets, in the same order as in the indexed list.
+     */
+    public static List<Tweet> containing(TweetBlockIndex index, List<String> words) {
+        return new ArrayList<>(index.containing(words).getTweets());
+    }
+
+    /**
+     * Find tweets that contain certain words, as a selection over the same
+     * source list rather than a copy.
+     * 
+     * @param selection
+     *            a selection of a list of tweets with distinct ids.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @return selection over selection.source() of the same tweets that
+     *         containing(tweets, words) returns for the selected tweets.
+     */
+    public static TweetSelection containing(TweetSelection selection, List<String> words) {
+        WordMatcher matcher = WordMatcher.compile(words);
+        return selection.filter(tweet -> matcher.matches(tweet.getText()));
+    }
+
+    /**
+     * Find tweets that contain certain words, filtering chunks of the list in
+     * parallel on the common pool. Lists below a threshold calibrated on
+     * first use are filtered sequentially.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @return the same tweets as containing(tweets, words), in the same order
+     *         as in the input list.
+     */
+    public static List<Tweet> containingParallel(List<Tweet> tweets, List<String> words) {
+        return containingParallel(tweets, words, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Find tweets that contain certain words, filtering chunks of the list in
+     * parallel on a given pool.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @param pool
+     *            pool whose workers filter the chunks.
+     * @return the same tweets as containing(tweets, words), in the same order
+     *         as in the input list.
+     */
+    public static List<Tweet> containingParallel(List<Tweet> tweets, List<String> words, ForkJoinPool pool) {
+        WordMatcher matcher = WordMatcher.compile(words);
+        return ParallelFilter.filter(tweets, tweet -> matcher.matches(tweet.getText()), pool);
+    }
+
+    /**
+     * Find tweets that contain certain words, looking the words up in an
+     * inverted index instead of scanning the tweets.
+     * 
+     * @param index
+     *            index of a list of tweets with distinct ids.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @return the same tweets as containing(tweets, words) for the indexed
+     *         tweets, in the same order as they were indexed.
+     */
+    public static List<Tweet> containing(TweetTextIndex index, List<String> words) {
+        return index.containing(words);
+    }
+
+    /**
+     * Find the first tweets written by a particular user, stopping the scan
+     * as soon as limit of them are found.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the first limit tweets of writtenBy(tweets, username), or all
+     *         of them if there are fewer, in the same order as in the input list.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> writtenBy(List<Tweet> tweets, String username, int limit) {
+        if (!validUserName(username)) {
+            return LimitFilter.first(tweets, tweet -> false, limit);
+        }
+        return LimitFilter.first(tweets, tweet -> username.equalsIgnoreCase(tweet.getAuthor()), limit);
+    }
+
+    /**
+     * Find the first tweets that were sent during a particular timespan,
+     * stopping the scan as soon as limit of them are found.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param timespan
+     *            timespan, including its endpoints
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the first limit tweets of inTimespan(tweets, timespan), or all
+     *         of them if there are fewer, in the same order as in the input list.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> inTimespan(List<Tweet> tweets, Timespan timespan, int limit) {
+        Instant start = timespan.getStart();
+        Instant end = timespan.getEnd();
+        return LimitFilter.first(tweets,
+                tweet -> !tweet.getTimestamp().isBefore(start) && !tweet.getTimestamp().isAfter(end), limit);
+    }
+
+    /**
+     * Find the first tweets that contain certain words, stopping the scan as
+     * soon as limit of them are found.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the first limit tweets of containing(tweets, words), or all of
+     *         them if there are fewer, in the same order as in the input list.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> containing(List<Tweet> tweets, List<String> words, int limit) {
+        WordMatcher matcher = WordMatcher.compile(words);
+        return LimitFilter.first(tweets, tweet -> matcher.matches(tweet.getText()), limit);
+    }
+
+    /**
+     * Find the most recent tweets written by a particular user. Every tweet
+     * is tested, but only the best limit candidates are kept.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the limit latest tweets of writtenBy(tweets, username), or all
+     *         of them if there are fewer, latest first; tweets with equal
+     *         timestamps are in the same order as in the input list.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> mostRecentWrittenBy(List<Tweet> tweets, String username, int limit) {
+        if (!validUserName(username)) {
+            return LimitFilter.mostRecent(tweets, tweet -> false, limit);
+        }
+        return LimitFilter.mostRecent(tweets, tweet -> username.equalsIgnoreCase(tweet.getAuthor()), limit);
+    }
+
+    /**
+     * Find the most recent tweets written by a particular user, walking a
+     * time index backwards and stopping as soon as limit of them are found.
+     * 
+     * @param index
+     *            time index of a list of tweets with distinct ids.
+     * @param username
+     *            Twitter username, required to be a valid Twitter username as
+     *            defined by Tweet.getAuthor()'s spec.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the same tweets as mostRecentWrittenBy(tweets, username, limit)
+     *         for the indexed tweets, in the same order.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> mostRecentWrittenBy(TweetTimeIndex index, String username, int limit) {
+        if (!validUserName(username)) {
+            return index.mostRecent(tweet -> false, limit);
+        }
+        return index.mostRecent(tweet -> username.equalsIgnoreCase(tweet.getAuthor()), limit);
+    }
+
+    /**
+     * Find the most recent tweets that contain certain words. Every tweet is
+     * tested, but only the best limit candidates are kept.
+     * 
+     * @param tweets
+     *            a list of tweets with distinct ids, not modified by this method.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the limit latest tweets of containing(tweets, words), or all of
+     *         them if there are fewer, latest first; tweets with equal
+     *         timestamps are in the same order as in the input list.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> mostRecentContaining(List<Tweet> tweets, List<String> words, int limit) {
+        WordMatcher matcher = WordMatcher.compile(words);
+        return LimitFilter.mostRecent(tweets, tweet -> matcher.matches(tweet.getText()), limit);
+    }
+
+    /**
+     * Find the most recent tweets that contain certain words, walking a time
+     * index backwards and stopping as soon as limit of them are found.
+     * 
+     * @param index
+     *            time index of a list of tweets with distinct ids.
+     * @param words
+     *            a list of words to search for in the tweets. 
+     *            A word is a nonempty sequence of nonspace characters.
+     * @param limit
+     *            maximum number of tweets to return, >= 0.
+     * @return the same tweets as mostRecentContaining(tweets, words, limit)
+     *         for the indexed tweets, in the same order.
+     * @throws IllegalArgumentException if limit < 0
+     */
+    public static List<Tweet> mostRecentContaining(TweetTimeIndex index, List<String> words, int limit) {
+        WordMatcher matcher = WordMatcher.compile(words);
+        return index.mostRecent(tweet -> matcher.matches(tweet.getText()), limit);
     }
 }
@@ -0,0 +1,181 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable ranking of users by follower count, updated in place as follower
+ * counts change, for incremental analytics such as TweetPipeline.
+ *
+ * Each username gets a dictionary id on its first increment. Ids are kept in
+ * an array sorted by descending count, so users with equal counts form a
+ * contiguous group. Incrementing a user swaps it with the first user of its
+ * group and moves the group boundary past it; decrementing swaps it with the
+ * last. Both cost O(1) apart from the dictionary lookup, and counts are never
+ * boxed. top(k) selects from the groups that reach position k, ordering ties
+ * alphabetically.
+ *
+ * Usernames are taken as given; callers that want case-insensitive counts
+ * fold them first. A FollowerRanking is not thread-safe.
+ */
+public class FollowerRanking {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[16];
+    private int[] counts = new int[16];
+    private int[] order = new int[16];
+    private int[] position = new int[16];
+    private int[] atLeast = new int[2];
+    /* Rep invariant:
+     *    ids maps names[0..n) to 0..n, where n == ids.size()
+     *    order[0..n) is a permutation of 0..n, in nonincreasing order of
+     *    counts, and position[order[p]] == p
+     *    every counts[id] >= 0
+     *    atLeast[c] is the number of ids with counts[id] >= c, for
+     *    1 <= c < atLeast.length, and the largest count is < atLeast.length
+     *    (atLeast[0] is unused)
+     * Abstraction function:
+     *    represents the follower count counts[id] of each user names[id],
+     *    and a count of 0 for every other user
+     * Safety from rep exposure:
+     *    all fields are private; observers return strings, ints and new lists
+     */
+
+    /**
+     * Make a ranking in which every user has 0 followers.
+     */
+    public FollowerRanking() {}
+
+    /**
+     * @param followsGraph a social network, as defined in SocialNetwork
+     * @return a ranking of the users in followsGraph by the number of keys
+     *         that follow them
+     */
+    public static FollowerRanking of(Map<String, Set<String>> followsGraph) {
+        FollowerRanking ranking = new FollowerRanking();
+        for (Set<String> follows : followsGraph.values()) {
+            for (String followed : follows) {
+                ranking.increment(followed);
+            }
+        }
+        return ranking;
+    }
+
+    /**
+     * Add one follower to a user.
+     *
+     * @param user a username
+     * @return user's new follower count
+     */
+    public int increment(String user) {
+        int id = idOf(user);
+        int count = counts[id];
+        if (count + 1 == atLeast.length) {
+            atLeast = Arrays.copyOf(atLeast, 2 * atLeast.length);
+        }
+        // the first user with this count; every user before it counts more
+        int first = atLeast[count + 1];
+        swap(position[id], first);
+        atLeast[count + 1]++;
+        counts[id] = count + 1;
+        return count + 1;
+    }
+
+    /**
+     * Remove one follower from a user.
+     *
+     * @param user a username with at least one follower
+     * @return user's new follower count
+     * @throws IllegalArgumentException if user has no followers
+     */
+    public int decrement(String user) {
+        Integer id = ids.get(user);
+        if (id == null || counts[id] == 0) {
+            throw new IllegalArgumentException("user has no followers: " + user);
+        }
+        int count = counts[id];
+        // the last user with this count; every user after it counts less
+        int last = atLeast[count] - 1;
+        swap(position[id], last);
+        atLeast[count]--;
+        counts[id] = count - 1;
+        return count - 1;
+    }
+
+    private int idOf(String user) {
+        Integer id = ids.get(user);
+        if (id != null) {
+            return id;
+        }
+        int n = ids.size();
+        if (n == names.length) {
+            names = Arrays.copyOf(names, 2 * n);
+            counts = Arrays.copyOf(counts, 2 * n);
+            order = Arrays.copyOf(order, 2 * n);
+            position = Arrays.copyOf(position, 2 * n);
+        }
+        names[n] = user;
+        order[n] = n;
+        position[n] = n;
+        ids.put(user, n);
+        return n;
+    }
+
+    private void swap(int p, int q) {
+        int a = order[p];
+        int b = order[q];
+        order[p] = b;
+        order[q] = a;
+        position[b] = p;
+        position[a] = q;
+    }
+
+    /**
+     * @param user a username
+     * @return user's follower count
+     */
+    public int count(String user) {
+        Integer id = ids.get(user);
+        return id == null ? 0 : counts[id];
+    }
+
+    /**
+     * @return number of users with at least one follower
+     */
+    public int size() {
+        return atLeast[1];
+    }
+
+    /**
+     * Find the users with the most followers, in O(k log k) time when few
+     * users tie with the k-th.
+     *
+     * @param k maximum number of users to return, >= 0
+     * @return the min(k, size()) users with the most followers, in descending
+     *         order of follower count, ties broken alphabetically
+     * @throws IllegalArgumentException if k < 0
+     */
+    public List<String> top(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        int n = Math.min(k, size());
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+        // the answer is drawn from the users that count at least as much as the n-th
+        int end = atLeast[counts[order[n - 1]]];
+        TopK top = new TopK(n, names, counts);
+        for (int p = 0; p < end; p++) {
+            top.offer(order[p]);
+        }
+        return top.drain();
+    }
+}
@@ -0,0 +1,195 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable follows graph, guessed from @-mention evidence in tweets and kept up
+ * to date as tweets are added and removed, instead of being rebuilt by
+ * SocialNetwork.guessFollowsGraph.
+ *
+ * For each (follower, followee) pair the graph counts the tweets written by
+ * the follower that mention the followee. An edge exists while its count is
+ * positive: it appears when the first such tweet is added and disappears when
+ * the last one is removed. Follower counts are kept up to date with the
+ * edges. Adding or removing a tweet costs O(length of its text), which is
+ * dominated by scanning it for mentions.
+ *
+ * Usernames are case-folded. As SocialNetwork's spec requires, nobody follows
+ * themselves, so self-mentions are not evidence, and each username appears at
+ * most once as a key. A user appears as a key only while they follow somebody.
+ *
+ * A FollowsGraph is not thread-safe.
+ */
+public class FollowsGraph {
+
+    private final Map<Long, Tweet> tweets = new HashMap<>();
+    private final Map<String, Map<String, Integer>> evidence = new HashMap<>();
+    private final Map<String, Set<String>> follows = new HashMap<>();
+    private final Map<String, Integer> followerCounts = new HashMap<>();
+    private final MentionScanner scanner = new MentionScanner();
+    private final Set<String> mentionBuffer = new HashSet<>();
+    private int edgeCount;
+    /* Rep invariant:
+     *    evidence.get(a).get(b) is the number of tweets in tweets.values()
+     *    written by a (case-folded) that mention b, for a != b; every count
+     *    is positive and every inner map is nonempty
+     *    follows has the same keys as evidence, and follows.get(a) is an
+     *    unmodifiable view of evidence.get(a).keySet()
+     *    edgeCount is the total size of the inner maps of evidence
+     *    followerCounts.get(b) is the number of inner maps of evidence with
+     *    key b, and only positive counts are kept
+     *    mentionBuffer is empty between operations
+     * Abstraction function:
+     *    represents the tweets tweets.values(), and the graph in which a
+     *    follows b iff evidence.get(a) has key b
+     * Safety from rep exposure:
+     *    asMap() returns an unmodifiable map whose values are unmodifiable;
+     *    Tweets are immutable
+     */
+
+    /**
+     * Make an empty graph.
+     */
+    public FollowsGraph() {}
+
+    /**
+     * Add a tweet's evidence to the graph.
+     *
+     * @param tweet tweet to add
+     * @return true if the tweet was added; false if a tweet with the same id
+     *         is already in the graph, in which case the graph is unchanged
+     */
+    public boolean addTweet(Tweet tweet) {
+        if (tweets.putIfAbsent(tweet.getId(), tweet) != null) {
+            return false;
+        }
+        String follower = CaseFolding.foldCase(tweet.getAuthor());
+        for (String followee : mentionsOf(tweet, follower)) {
+            Map<String, Integer> counts = evidence.get(follower);
+            if (counts == null) {
+                counts = new HashMap<>();
+                evidence.put(follower, counts);
+                follows.put(follower, Collections.unmodifiableSet(counts.keySet()));
+            }
+            if (counts.merge(followee, 1, Integer::sum) == 1) {
+                edgeCount++;
+                followerCounts.merge(followee, 1, Integer::sum);
+            }
+        }
+        mentionBuffer.clear();
+        return true;
+    }
+
+    /**
+     * Remove a tweet's evidence from the graph, as for a deleted tweet.
+     *
+     * @param tweetId id of the tweet to remove
+     * @return true if the tweet was removed; false if no tweet with that id is
+     *         in the graph, in which case the graph is unchanged
+     */
+    public boolean removeTweet(long tweetId) {
+        Tweet tweet = tweets.remove(tweetId);
+        if (tweet == null) {
+            return false;
+        }
+        String follower = CaseFolding.foldCase(tweet.getAuthor());
+        for (String followee : mentionsOf(tweet, follower)) {
+            Map<String, Integer> counts = evidence.get(follower);
+            if (counts.computeIfPresent(followee, (key, count) -> count == 1 ? null : count - 1) == null) {
+                edgeCount--;
+                followerCounts.computeIfPresent(followee, (key, count) -> count == 1 ? null : count - 1);
+                if (counts.isEmpty()) {
+                    evidence.remove(follower);
+                    follows.remove(follower);
+                }
+            }
+        }
+        mentionBuffer.clear();
+        return true;
+    }
+
+    /**
+     * Remove a tweet's evidence from the graph.
+     *
+     * @param tweet tweet to remove; only its id is used
+     * @return removeTweet(tweet.getId())
+     */
+    public boolean removeTweet(Tweet tweet) {
+        return removeTweet(tweet.getId());
+    }
+
+    /*
+     * Fill mentionBuffer with the distinct usernames tweet mentions other than
+     * its author, and return it.
+     */
+    private Set<String> mentionsOf(Tweet tweet, String author) {
+        scanner.scan(tweet.getText(), mentionBuffer);
+        mentionBuffer.remove(author);
+        return mentionBuffer;
+    }
+
+    /**
+     * @return number of tweets in the graph
+     */
+    public int tweetCount() {
+        return tweets.size();
+    }
+
+    /**
+     * @return number of (follower, followee) edges
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @param follower a username
+     * @param followee a username
+     * @return number of tweets in the graph written by follower that mention
+     *         followee, ignoring case; 0 if follower and followee are the same
+     */
+    public int evidence(String follower, String followee) {
+        Map<String, Integer> counts = evidence.get(CaseFolding.foldCase(follower));
+        if (counts == null) {
+            return 0;
+        }
+        Integer count = counts.get(CaseFolding.foldCase(followee));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @param username a username
+     * @return number of users who follow username, ignoring case
+     */
+    public int followerCount(String username) {
+        Integer count = followerCounts.get(CaseFolding.foldCase(username));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return an unmodifiable, live view of the follower counts: map[B] is
+     *         the number of users who follow B, for every case-folded
+     *         username B that somebody follows
+     */
+    public Map<String, Integer> followerCounts() {
+        return Collections.unmodifiableMap(followerCounts);
+    }
+
+    /**
+     * @return an unmodifiable, live view of this graph as a social network in
+     *         the sense of SocialNetwork: map[A] is the set of case-folded
+     *         usernames that A follows, for every case-folded username A that
+     *         follows somebody. The view reflects later additions and
+     *         removals; do not iterate it while the graph is being changed.
+     */
+    public Map<String, Set<String>> asMap() {
+        return Collections.unmodifiableMap(follows);
+    }
+}
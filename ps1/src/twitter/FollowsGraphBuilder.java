@@ -0,0 +1,118 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable, mergeable builder of the follows graph guessed by
+ * SocialNetwork.guessFollowsGraph, in one pass over the tweets.
+ *
+ * Tweets are grouped by case-folded author as they are accepted, and each
+ * tweet's mentions are scanned into its author's group, so building costs
+ * O(total text length) however many authors there are. Builders over
+ * disjoint parts of a list can be combined, which makes them suitable for
+ * parallel reductions with one partial builder per thread. A
+ * FollowsGraphBuilder is not thread-safe.
+ */
+public class FollowsGraphBuilder {
+
+    private final Map<String, Group> groups = new HashMap<>();
+    private final MentionScanner scanner = new MentionScanner();
+    /* Rep invariant:
+     *    for every key a of groups, groups.get(a).spellings is nonempty and
+     *    each spelling case-folds (CaseFolding.foldCase) to a
+     * Abstraction function:
+     *    represents the accepted tweets, as the distinct author spellings of
+     *    each case-folded author and the lower-case usernames mentioned in
+     *    all of that author's tweets
+     */
+
+    /*
+     * Spellings and mentions of one case-folded author.
+     */
+    private static class Group {
+        final Set<String> spellings = new LinkedHashSet<>(2);
+        final Set<String> mentions = new HashSet<>();
+    }
+
+    /**
+     * Make a builder that has accepted no tweets.
+     */
+    public FollowsGraphBuilder() {}
+
+    /**
+     * Build the follows graph of tweets on the current thread.
+     *
+     * @param tweets tweets providing the evidence, not modified by this method
+     * @return the same graph as SocialNetwork.guessFollowsGraph(tweets)
+     */
+    public static Map<String, Set<String>> of(List<Tweet> tweets) {
+        FollowsGraphBuilder builder = new FollowsGraphBuilder();
+        for (Tweet tweet : tweets) {
+            builder.accept(tweet);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build the follows graph of tweets in parallel on the common
+     * ForkJoinPool, with one partial builder per worker, merged at the end.
+     *
+     * @param tweets tweets providing the evidence, not modified by this method
+     * @return the same graph as SocialNetwork.guessFollowsGraph(tweets)
+     */
+    public static Map<String, Set<String>> ofParallel(List<Tweet> tweets) {
+        return tweets.parallelStream()
+                .collect(FollowsGraphBuilder::new, FollowsGraphBuilder::accept, FollowsGraphBuilder::combine)
+                .build();
+    }
+
+    /**
+     * Add a tweet's evidence.
+     *
+     * @param tweet tweet to accept
+     */
+    public void accept(Tweet tweet) {
+        Group group = groups.computeIfAbsent(CaseFolding.foldCase(tweet.getAuthor()), author -> new Group());
+        group.spellings.add(tweet.getAuthor());
+        scanner.scan(tweet.getText(), group.mentions);
+    }
+
+    /**
+     * Add the evidence of every tweet accepted by other.
+     *
+     * @param other builder to merge, not modified by this method
+     * @return this builder
+     */
+    public FollowsGraphBuilder combine(FollowsGraphBuilder other) {
+        for (Map.Entry<String, Group> entry : other.groups.entrySet()) {
+            Group group = groups.computeIfAbsent(entry.getKey(), author -> new Group());
+            group.spellings.addAll(entry.getValue().spellings);
+            group.mentions.addAll(entry.getValue().mentions);
+        }
+        return this;
+    }
+
+    /**
+     * @return a new follows graph, as SocialNetwork.guessFollowsGraph defines
+     *         it, of the accepted tweets: every distinct author spelling is a
+     *         key, mapped to its own set of the usernames, in lower case,
+     *         mentioned in the tweets of any spelling of that author
+     */
+    public Map<String, Set<String>> build() {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (Group group : groups.values()) {
+            for (String spelling : group.spellings) {
+                graph.put(spelling, new HashSet<>(group.mentions));
+            }
+        }
+        return graph;
+    }
+}
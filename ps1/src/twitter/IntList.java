@@ -0,0 +1,77 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for position lists in the tweet
+ * indexes so that positions are never boxed.
+ */
+class IntList {
+
+    private int[] values;
+    private int size;
+    /* Rep invariant:
+     *    0 <= size <= values.length
+     * Abstraction function:
+     *    represents the list values[0..size)
+     */
+
+    /**
+     * Make an empty list.
+     */
+    IntList() {
+        this.values = new int[2];
+    }
+
+    /**
+     * Append value.
+     */
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * @return number of values
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param i index, 0 <= i < size()
+     * @return value at index i
+     */
+    int get(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+        }
+        return values[i];
+    }
+
+    /**
+     * @return the last value, or def if the list is empty
+     */
+    int lastOr(int def) {
+        return size == 0 ? def : values[size - 1];
+    }
+
+    /**
+     * Copy the values into dest starting at offset.
+     */
+    void copyTo(int[] dest, int offset) {
+        System.arraycopy(values, 0, dest, offset, size);
+    }
+
+    /**
+     * @return a new array of the values, in order
+     */
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Filtering of a list of tweets that returns at most a given number of
+ * matches, used by the limit-aware variants of the Filter methods.
+ *
+ * The first matches in list order are found by scanning until enough have
+ * been seen. The most recent matches of an unordered list cannot be found
+ * that way, so every tweet is tested, but only a heap of the best limit
+ * candidates so far is kept; with a TweetTimeIndex the scan instead walks
+ * backwards in time and stops early (see TweetTimeIndex.mostRecent).
+ *
+ * "Most recent first" orders by timestamp, latest first, and tweets with
+ * equal timestamps in list order.
+ */
+class LimitFilter {
+
+    private LimitFilter() {}
+
+    /**
+     * @param tweets tweets to filter, not modified by this method
+     * @param condition condition to test
+     * @param limit maximum number of results, >= 0
+     * @return the first min(limit, m) of the m tweets satisfying condition, in
+     *         the same order as in tweets; stops testing once limit are found
+     * @throws IllegalArgumentException if limit < 0
+     */
+    static List<Tweet> first(List<Tweet> tweets, Predicate<Tweet> condition, int limit) {
+        checkLimit(limit);
+        List<Tweet> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = 0; i < tweets.size() && result.size() < limit; i++) {
+            Tweet tweet = tweets.get(i);
+            if (condition.test(tweet)) {
+                result.add(tweet);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param tweets tweets to filter, not modified by this method
+     * @param condition condition to test
+     * @param limit maximum number of results, >= 0
+     * @return the min(limit, m) most recent of the m tweets satisfying
+     *         condition, most recent first
+     * @throws IllegalArgumentException if limit < 0
+     */
+    static List<Tweet> mostRecent(List<Tweet> tweets, Predicate<Tweet> condition, int limit) {
+        checkLimit(limit);
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        // worst candidate at the head: oldest, then latest in list order
+        Comparator<Integer> worstFirst = (a, b) -> {
+            int c = tweets.get(a).getTimestamp().compareTo(tweets.get(b).getTimestamp());
+            return c != 0 ? c : Integer.compare(b, a);
+        };
+        PriorityQueue<Integer> best = new PriorityQueue<>(Math.min(limit, 1024), worstFirst);
+        for (int i = 0; i < tweets.size(); i++) {
+            Tweet tweet = tweets.get(i);
+            if (!condition.test(tweet)) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(i);
+            } else if (worstFirst.compare(i, best.peek()) > 0) {
+                best.poll();
+                best.add(i);
+            }
+        }
+        List<Tweet> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(tweets.get(best.poll()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be nonnegative: " + limit);
+        }
+    }
+}
@@ -6,9 +6,9 @@ package twitter;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is the main program.
@@ -36,7 +36,9 @@ public class Main {
      * Main method of the program. Fetches a sample of tweets and prints some
      * facts about it.
      * 
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments: with "--poll", keeps polling the
+     *             sample server once a minute and reprints the facts after
+     *             each batch of new tweets
      */
     public static void main(String[] args) {
         try {
@@ -44,31 +46,43 @@ public class Main {
             throw new Error("Always run main and tests with assertions enabled");
         } catch (AssertionError ae) { }
         
-        final List<Tweet> tweets;
+        final TweetPipeline pipeline = new TweetPipeline();
+        final TweetPoller poller = new TweetPoller(SAMPLE_SERVER);
+        if (args.length > 0 && args[0].equals("--poll")) {
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+            poller.schedule(executor, 1, TimeUnit.MINUTES, batch -> {
+                pipeline.accept(batch);
+                printFacts(pipeline);
+            });
+            return;
+        }
+
         try {
-            tweets = TweetReader.readTweetsFromWeb(SAMPLE_SERVER);
+            pipeline.accept(poller.poll());
         } catch (IOException ioe) {
             throw new RuntimeException(ioe);
         }
-        
+        printFacts(pipeline);
+    }
+
+    private static void printFacts(TweetPipeline pipeline) {
         // display some characteristics about the tweets
-        System.err.println("fetched " + tweets.size() + " tweets");
+        System.err.println("fetched " + pipeline.getTweetCount() + " tweets");
+        if (pipeline.getTweetCount() == 0) {
+            return;
+        }
         
-        final Timespan span = Extract.getTimespan(tweets);
+        final Timespan span = pipeline.getTimespan();
         System.err.println("ranging from " + span.getStart() + " to " + span.getEnd());
         
-        final Set<String> mentionedUsers = Extract.getMentionedUsers(tweets);
-        System.err.println("covers " + mentionedUsers.size() + " Twitter users");
+        System.err.println("covers " + pipeline.getMentionedUserCount() + " Twitter users");
         
-        // infer the follows graph
-        final Map<String, Set<String>> followsGraph = SocialNetwork.guessFollowsGraph(tweets);
-        System.err.println("follows graph has " + followsGraph.size() + " nodes");
+        // the inferred follows graph
+        System.err.println("follows graph has " + pipeline.getFollowsGraphSize() + " nodes");
         
         // print the top-N influencers
         final int count = 10;
-        final List<String> influencers = SocialNetwork.influencers(followsGraph);
-        for (String username : influencers.subList(0, Math.min(count, influencers.size()))) {
-//            System.out.println(String.format("username=%s, mentionedUsers.size=%d", username, followsGraph.get(username).size()));
+        for (String username : pipeline.topInfluencers(count)) {
             System.out.println(username);
         }
     }
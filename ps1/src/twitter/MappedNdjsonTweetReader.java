@@ -0,0 +1,205 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+/**
+ * Read tweets from a local newline-delimited JSON file (one tweet object per
+ * line) by memory-mapping it.
+ *
+ * Record boundaries are found by scanning the mapped bytes for '\n', and each
+ * record is handed to the JSON parser directly from the mapping, so the text
+ * is never copied into a String. The file is cut into line-aligned ranges that
+ * are mapped and decoded independently, which lets several threads decode one
+ * file in parallel and keeps every mapping under the 2GB limit of a
+ * MappedByteBuffer.
+ */
+public class MappedNdjsonTweetReader {
+
+    /** Largest range mapped at once. */
+    private static final long MAX_RANGE_BYTES = 1L << 30;
+
+    /** Smallest range worth handing to a separate task. */
+    private static final long MIN_RANGE_BYTES = 1L << 20;
+
+    private MappedNdjsonTweetReader() {}
+
+    /**
+     * Read tweets from an NDJSON file on the calling thread.
+     *
+     * @param file file holding one tweet object per nonblank line
+     * @return the tweets in line order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Tweet> readTweets(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Tweet> tweets = new ArrayList<>();
+            for (long[] range : ranges(channel, MAX_RANGE_BYTES)) {
+                tweets.addAll(decodeRange(channel, range));
+            }
+            return tweets;
+        }
+    }
+
+    /**
+     * Read tweets from an NDJSON file, decoding ranges of it in parallel.
+     *
+     * @param file file holding one tweet object per nonblank line
+     * @param pool pool whose workers decode the ranges
+     * @return the tweets in line order
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Tweet> readTweets(Path file, ForkJoinPool pool) throws IOException {
+        long rangeBytes = Files.size(file) / (4L * pool.getParallelism()) + 1;
+        return readTweets(file, pool, Math.min(MAX_RANGE_BYTES, Math.max(MIN_RANGE_BYTES, rangeBytes)));
+    }
+
+    /**
+     * Read tweets from an NDJSON file, decoding ranges of a given size in
+     * parallel.
+     *
+     * @param file file holding one tweet object per nonblank line
+     * @param pool pool whose workers decode the ranges
+     * @param rangeBytes approximate size of each range, 0 < rangeBytes <= 2^30;
+     *                   each range extends to the end of the line it ends in
+     * @return the tweets in line order
+     * @throws IOException if the file cannot be read
+     */
+    static List<Tweet> readTweets(Path file, ForkJoinPool pool, long rangeBytes) throws IOException {
+        assert 0 < rangeBytes && rangeBytes <= MAX_RANGE_BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return OrderedForkJoin.readAll(ranges(channel, rangeBytes), pool,
+                    range -> decodeRange(channel, range));
+        }
+    }
+
+    /*
+     * Cut the file into ranges of about rangeBytes bytes, each starting at the
+     * beginning of a line and ending just after a '\n' or at end of file.
+     *
+     * @return list of {start, end} byte offsets, in file order, covering the file
+     */
+    private static List<long[]> ranges(FileChannel channel, long rangeBytes) throws IOException {
+        long size = channel.size();
+        List<long[]> ranges = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + rangeBytes >= size ? size : nextLineStart(channel, start + rangeBytes);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("line longer than " + Integer.MAX_VALUE + " bytes at offset " + start);
+            }
+            ranges.add(new long[] { start, end });
+            start = end;
+        }
+        return ranges;
+    }
+
+    /*
+     * @return offset just after the first '\n' at or after position, or the
+     *         size of the file if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long offset = position;
+        int read;
+        while ((read = channel.read(buffer, offset)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+            buffer.clear();
+        }
+        return channel.size();
+    }
+
+    /*
+     * Map range {start, end} and decode every nonblank line in it.
+     */
+    private static List<Tweet> decodeRange(FileChannel channel, long[] range) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]);
+        List<Tweet> tweets = new ArrayList<>();
+        int limit = mapped.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            boolean blank = true;
+            byte b;
+            while (lineEnd < limit && (b = mapped.get(lineEnd)) != '\n') {
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    blank = false;
+                }
+                lineEnd++;
+            }
+            if (!blank) {
+                tweets.add(decodeLine(mapped, lineStart, lineEnd));
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tweets;
+    }
+
+    private static Tweet decodeLine(ByteBuffer mapped, int start, int end) {
+        ByteBuffer line = mapped.duplicate();
+        line.limit(end).position(start);
+        try (JsonParser parser = Json.createParser(new ByteBufferInputStream(line.slice()))) {
+            if (parser.next() != JsonParser.Event.START_OBJECT) {
+                throw new JsonException("Expected a tweet object on each line");
+            }
+            return TweetDecoder.decode(parser);
+        }
+    }
+
+    /*
+     * InputStream view of the remaining bytes of a buffer; reading advances
+     * the buffer's position.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Collection;
+
+/**
+ * Single-pass scanner for username-mentions in tweet text, as defined by
+ * Extract.getMentionedUsers: "@" followed by a maximal run of username
+ * characters (A-Z, a-z, 0-9, _, -), where the "@" is not immediately preceded
+ * by a username character.
+ *
+ * Mentions are emitted in lower case. The only objects allocated per mention
+ * are the emitted strings; an all-lowercase mention is a single substring,
+ * and a mention with uppercase letters is lowered through a scratch buffer
+ * that is reused across calls.
+ *
+ * A MentionScanner is not thread-safe; use one per thread.
+ */
+class MentionScanner {
+
+    private char[] scratch = new char[16];
+
+    /**
+     * @return true iff c may appear in a Twitter username
+     */
+    static boolean isUsernameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '_' || c == '-';
+    }
+
+    /**
+     * Add every username mentioned in text to mentions.
+     *
+     * @param text tweet text; may be null, which mentions nobody
+     * @param mentions receives each mentioned username, in lower case and in
+     *                 the order mentioned (repeats included)
+     */
+    void scan(String text, Collection<String> mentions) {
+        if (text == null) {
+            return;
+        }
+        int length = text.length();
+        boolean afterUsernameChar = false;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c != '@' || afterUsernameChar) {
+                afterUsernameChar = isUsernameChar(c);
+                i++;
+                continue;
+            }
+            int start = i + 1;
+            int end = start;
+            boolean hasUpper = false;
+            while (end < length && isUsernameChar(text.charAt(end))) {
+                char u = text.charAt(end);
+                hasUpper |= u >= 'A' && u <= 'Z';
+                end++;
+            }
+            if (end > start) {
+                mentions.add(hasUpper ? lower(text, start, end) : text.substring(start, end));
+                afterUsernameChar = true;
+            } else {
+                afterUsernameChar = false;
+            }
+            i = end;
+        }
+    }
+
+    /*
+     * @return text[start..end) with ASCII uppercase letters lowered
+     */
+    private String lower(String text, int start, int end) {
+        int n = end - start;
+        if (scratch.length < n) {
+            scratch = new char[Math.max(n, scratch.length * 2)];
+        }
+        for (int j = 0; j < n; j++) {
+            char c = text.charAt(start + j);
+            scratch[j] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(scratch, 0, n);
+    }
+}
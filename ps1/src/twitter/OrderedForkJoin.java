@@ -0,0 +1,118 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a list-producing job over each of several parts on a ForkJoinPool and
+ * concatenates the results in part order, independent of which worker
+ * finished first.
+ *
+ * Parts are numbered 0 to count-1 and split in halves recursively, so an idle
+ * worker steals half of the remaining parts of a busy one. Used to read
+ * shards and file ranges (readAll) and to filter chunks of a list
+ * (ParallelFilter).
+ */
+class OrderedForkJoin {
+
+    /**
+     * Produces the results for one part.
+     */
+    interface PartReader<P, T> {
+        List<T> read(P part) throws IOException;
+    }
+
+    private OrderedForkJoin() {}
+
+    /**
+     * Read every part in parallel and concatenate the results.
+     *
+     * @param parts parts to read, in the order their results should appear
+     * @param pool pool whose workers read the parts
+     * @param reader reads one part; called once per part, possibly concurrently
+     * @return the results of parts.get(0), then of parts.get(1), and so on
+     * @throws IOException if reader throws IOException for any part
+     */
+    static <P, T> List<T> readAll(List<P> parts, ForkJoinPool pool, PartReader<P, T> reader) throws IOException {
+        try {
+            return mapParts(parts.size(), pool, i -> {
+                try {
+                    return reader.read(parts.get(i));
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        } catch (UncheckedIOException uioe) {
+            throw uioe.getCause();
+        }
+    }
+
+    /**
+     * Map every part number in parallel and concatenate the results.
+     *
+     * @param count number of parts, at least 0
+     * @param pool pool whose workers map the parts
+     * @param mapper produces the results of part i, for 0 <= i < count;
+     *               called once per part, possibly concurrently
+     * @return the results of part 0, then of part 1, and so on
+     */
+    static <T> List<T> mapParts(int count, ForkJoinPool pool, IntFunction<List<T>> mapper) {
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        List<List<T>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(null);
+        }
+        pool.invoke(new MapPartsTask<>(0, count, mapper, results));
+        int total = 0;
+        for (List<T> result : results) {
+            total += result.size();
+        }
+        List<T> all = new ArrayList<>(total);
+        for (List<T> result : results) {
+            all.addAll(result);
+        }
+        return all;
+    }
+
+    /*
+     * Maps parts [lo..hi) into the same positions of results, splitting the
+     * range in half until one part remains.
+     */
+    private static class MapPartsTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+        private final IntFunction<List<T>> mapper;
+        private final List<List<T>> results;
+
+        MapPartsTask(int lo, int hi, IntFunction<List<T>> mapper, List<List<T>> results) {
+            this.lo = lo;
+            this.hi = hi;
+            this.mapper = mapper;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                results.set(lo, mapper.apply(lo));
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new MapPartsTask<>(lo, mid, mapper, results),
+                      new MapPartsTask<>(mid, hi, mapper, results));
+        }
+    }
+}
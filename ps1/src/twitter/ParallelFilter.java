@@ -0,0 +1,198 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Order-preserving parallel filtering of a list of tweets, used by the
+ * parallel variants of the Filter methods.
+ *
+ * The list is cut into contiguous chunks. Each chunk is filtered on its own by
+ * a ForkJoinPool worker into its own result list, and the chunk results are
+ * concatenated in chunk order (OrderedForkJoin.mapParts), so the output is in
+ * input order regardless of which worker finished first.
+ *
+ * Lists shorter than a threshold are filtered sequentially, since forking
+ * costs more than it saves on them. The threshold is calibrated once per pool,
+ * on its first use, from the measured cost of filtering a tweet relative to
+ * the cost of a fork-join round trip on that pool, both measured after a
+ * warm-up. It can be fixed instead, for every pool, with the system property
+ * twitter.filter.parallelThreshold.
+ */
+class ParallelFilter {
+
+    private static final String THRESHOLD_PROPERTY = "twitter.filter.parallelThreshold";
+    private static final int MIN_THRESHOLD = 1 << 10;
+    private static final int MAX_THRESHOLD = 1 << 18;
+    private static final int CALIBRATION_TWEETS = 1 << 12;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    /**
+     * Chunks per worker, so that a worker that finishes early can steal
+     * work from one that is behind.
+     */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /**
+     * Threshold fixed by the system property, null if none.
+     */
+    private static final Integer FIXED_THRESHOLD = fixed();
+
+    /**
+     * Calibrated threshold of each pool used so far. Weak keys, so that a
+     * pool that is shut down and dropped is not retained.
+     */
+    private static final Map<ForkJoinPool, Integer> calibrated = new WeakHashMap<>();
+
+    private ParallelFilter() {}
+
+    /**
+     * Filter tweets in parallel.
+     *
+     * @param tweets tweets to filter, not modified by this method
+     * @param condition condition to test; called concurrently from the
+     *                  workers of pool, so it must be thread-safe
+     * @param pool pool whose workers filter the chunks
+     * @return all and only the tweets satisfying condition, in the same order
+     *         as in tweets
+     */
+    static List<Tweet> filter(List<Tweet> tweets, Predicate<Tweet> condition, ForkJoinPool pool) {
+        if (pool.getParallelism() < 2
+                || (FIXED_THRESHOLD == null && tweets.size() < MIN_THRESHOLD)) {
+            // sequential whatever the calibrated threshold, so do not calibrate
+            return filterRange(tweets, 0, tweets.size(), condition);
+        }
+        return filter(tweets, condition, pool, threshold(pool));
+    }
+
+    /**
+     * @param pool a pool
+     * @return smallest list size that filter(tweets, condition, pool) filters
+     *         in parallel; also its smallest chunk size
+     */
+    static int threshold(ForkJoinPool pool) {
+        if (FIXED_THRESHOLD != null) {
+            return FIXED_THRESHOLD;
+        }
+        synchronized (calibrated) {
+            Integer threshold = calibrated.get(pool);
+            if (threshold != null) {
+                return threshold;
+            }
+        }
+        // calibrate without holding the lock: calibration waits for pool's
+        // workers, which may themselves be waiting for a threshold
+        int threshold = calibrate(pool);
+        synchronized (calibrated) {
+            Integer raced = calibrated.putIfAbsent(pool, threshold);
+            return raced != null ? raced : threshold;
+        }
+    }
+
+    /**
+     * Filter tweets in parallel, with a given threshold in place of the
+     * calibrated one.
+     *
+     * @param threshold smallest list size to filter in parallel, and
+     *                  smallest chunk size; at least 1
+     * @see #filter(List, Predicate, ForkJoinPool)
+     */
+    static List<Tweet> filter(List<Tweet> tweets, Predicate<Tweet> condition, ForkJoinPool pool, int threshold) {
+        int n = tweets.size();
+        int workers = pool.getParallelism();
+        if (n < threshold || workers < 2) {
+            return filterRange(tweets, 0, n, condition);
+        }
+        int chunkSize = Math.max(threshold, ceilDiv(n, workers * CHUNKS_PER_WORKER));
+        return OrderedForkJoin.mapParts(ceilDiv(n, chunkSize), pool,
+                chunk -> filterRange(tweets, chunk * chunkSize, Math.min((chunk + 1) * chunkSize, n), condition));
+    }
+
+    private static List<Tweet> filterRange(List<Tweet> tweets, int from, int to, Predicate<Tweet> condition) {
+        List<Tweet> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Tweet tweet = tweets.get(i);
+            if (condition.test(tweet)) {
+                result.add(tweet);
+            }
+        }
+        return result;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    /**
+     * @param pool a pool
+     * @return true iff a threshold has been calibrated for pool
+     */
+    static boolean isCalibrated(ForkJoinPool pool) {
+        synchronized (calibrated) {
+            return calibrated.containsKey(pool);
+        }
+    }
+
+    /*
+     * The threshold from the system property if set to a number, otherwise
+     * null.
+     */
+    private static Integer fixed() {
+        String fixed = System.getProperty(THRESHOLD_PROPERTY);
+        if (fixed != null) {
+            try {
+                return Math.max(1, Integer.parseInt(fixed.trim()));
+            } catch (NumberFormatException nfe) {
+                // fall through to calibration
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Estimate the list size at which filtering in parallel starts to pay:
+     * the number of tweets whose sequential filtering costs as much as
+     * forking and joining a chunk task, times CHUNKS_PER_WORKER so that each
+     * chunk does several times more work than its overhead. Both are measured
+     * on pool after some unmeasured rounds that let the JIT compile the
+     * filtering loop and start pool's workers, and the best of a few short
+     * rounds is used, which keeps calibration to a few milliseconds.
+     */
+    private static int calibrate(ForkJoinPool pool) {
+        List<Tweet> sample = new ArrayList<>(CALIBRATION_TWEETS);
+        Instant start = Instant.parse("2016-02-17T00:00:00Z");
+        for (int i = 0; i < CALIBRATION_TWEETS; i++) {
+            sample.add(new Tweet(i + 1, "user" + (i % 64),
+                    "rivest talk in " + i + " minutes #hype @user" + (i % 7), start.plusSeconds(i)));
+        }
+        WordMatcher matcher = WordMatcher.compile(Arrays.asList("obama", "6.005"));
+        Predicate<Tweet> condition = tweet -> matcher.matches(tweet.getText());
+
+        long filterNanos = Long.MAX_VALUE;
+        long forkNanos = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + CALIBRATION_ROUNDS; round++) {
+            long begin = System.nanoTime();
+            filterRange(sample, 0, CALIBRATION_TWEETS, condition);
+            long filtered = System.nanoTime();
+            OrderedForkJoin.mapParts(2, pool, chunk -> filterRange(sample, chunk, chunk + 1, condition));
+            long forked = System.nanoTime();
+            if (round >= WARMUP_ROUNDS) {
+                filterNanos = Math.min(filterNanos, filtered - begin);
+                forkNanos = Math.min(forkNanos, forked - filtered);
+            }
+        }
+        double nanosPerTweet = Math.max(1.0, (double) filterNanos / CALIBRATION_TWEETS);
+        long threshold = (long) (CHUNKS_PER_WORKER * forkNanos / nanosPerTweet);
+        return (int) Math.max(MIN_THRESHOLD, Math.min(MAX_THRESHOLD, threshold));
+    }
+}
@@ -0,0 +1,120 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+/**
+ * Read tweets from an archive that is sharded across many files, parsing the
+ * shards in parallel on a ForkJoinPool.
+ *
+ * Two shard formats are supported: a JSON array of tweets (the format read by
+ * TweetReader), and newline-delimited JSON with one tweet object per line.
+ * In both cases the result lists the tweets of the first shard in file order,
+ * then those of the second shard, and so on, regardless of which thread
+ * parsed which shard.
+ */
+public class ShardedTweetReader {
+
+    private ShardedTweetReader() {}
+
+    /**
+     * Read tweets from files that each hold a JSON array of tweets, using the
+     * common ForkJoinPool.
+     *
+     * @param files shards to read, in the order their tweets should appear
+     * @return the tweets of all the shards, in shard order and then file order
+     * @throws IOException if a shard cannot be read
+     */
+    public static List<Tweet> readTweetsFromFiles(Collection<Path> files) throws IOException {
+        return readTweetsFromFiles(files, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Read tweets from files that each hold a JSON array of tweets.
+     *
+     * @param files shards to read, in the order their tweets should appear
+     * @param pool pool whose workers parse the shards
+     * @return the tweets of all the shards, in shard order and then file order
+     * @throws IOException if a shard cannot be read
+     */
+    public static List<Tweet> readTweetsFromFiles(Collection<Path> files, ForkJoinPool pool) throws IOException {
+        return OrderedForkJoin.readAll(new ArrayList<>(files), pool, ShardedTweetReader::readJsonArrayFile);
+    }
+
+    /**
+     * Read tweets from newline-delimited JSON files, using the common
+     * ForkJoinPool.
+     *
+     * @param files shards to read, in the order their tweets should appear
+     * @return the tweets of all the shards, in shard order and then line order
+     * @throws IOException if a shard cannot be read
+     */
+    public static List<Tweet> readNdjsonTweetsFromFiles(Collection<Path> files) throws IOException {
+        return readNdjsonTweetsFromFiles(files, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Read tweets from newline-delimited JSON files. Each nonblank line of a
+     * file must hold exactly one tweet object.
+     *
+     * @param files shards to read, in the order their tweets should appear
+     * @param pool pool whose workers parse the shards
+     * @return the tweets of all the shards, in shard order and then line order
+     * @throws IOException if a shard cannot be read
+     */
+    public static List<Tweet> readNdjsonTweetsFromFiles(Collection<Path> files, ForkJoinPool pool) throws IOException {
+        return OrderedForkJoin.readAll(new ArrayList<>(files), pool, MappedNdjsonTweetReader::readTweets);
+    }
+
+    /**
+     * Read newline-delimited JSON tweets from a stream.
+     *
+     * @param reader source of the text, not closed by this method
+     * @return the tweets, one per nonblank line, in line order
+     * @throws IOException if reader fails
+     */
+    public static List<Tweet> readNdjsonTweets(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader
+                ? (BufferedReader) reader : new BufferedReader(reader);
+        List<Tweet> tweets = new ArrayList<>();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try (JsonParser parser = Json.createParser(new StringReader(line))) {
+                if (parser.next() != JsonParser.Event.START_OBJECT) {
+                    throw new JsonException("Expected a tweet object on each line");
+                }
+                tweets.add(TweetDecoder.decode(parser));
+            }
+        }
+        return tweets;
+    }
+
+    private static List<Tweet> readJsonArrayFile(Path file) throws IOException {
+        List<Tweet> tweets = new ArrayList<>();
+        try (StreamingTweetReader reader = new StreamingTweetReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.forEachRemaining(tweets::add);
+        }
+        return tweets;
+    }
+
+}
@@ -4,7 +4,6 @@
 package twitter;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * SocialNetwork provides methods that operate on a social network.
@@ -40,15 +39,20 @@ public class SocialNetwork {
      *         either authors or @-mentions in the list of tweets.
      */
     public static Map<String, Set<String>> guessFollowsGraph(List<Tweet> tweets) {
-        Map<String, Set<String>> result = new HashMap<>();
-        for (Tweet tweet : tweets) {
-            String author = tweet.getAuthor();
-            if (result.containsKey(author)) {
-                continue;
-            }
-            result.put(author, Extract.getMentionedUsers(Filter.writtenBy(tweets, author)));
-        }
-        return result;
+        return FollowsGraphBuilder.of(tweets);
+    }
+
+    /**
+     * Guess who might follow whom, building the graph in parallel on the
+     * common ForkJoinPool. Worth it for very large lists.
+     * 
+     * @param tweets
+     *            a list of tweets providing the evidence, not modified by this
+     *            method.
+     * @return the same social network as guessFollowsGraph(tweets).
+     */
+    public static Map<String, Set<String>> guessFollowsGraphParallel(List<Tweet> tweets) {
+        return FollowsGraphBuilder.ofParallel(tweets);
     }
 
     /**
@@ -61,17 +65,67 @@ public class SocialNetwork {
      *         descending order of follower count.
      */
     public static List<String> influencers(Map<String, Set<String>> followsGraph) {
-        Map<String, Long> followedGraph = new HashMap<>();
-        for (Map.Entry<String, Set<String>> entry : followsGraph.entrySet()) {
-            for (String followed : entry.getValue()) {
-                followedGraph.put(followed, Optional.ofNullable(followedGraph.get(followed)).map(i -> i+1L).orElse(1L));
+        return influencers(followsGraph, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the k people in a social network who have the most followers.
+     * 
+     * Follower counts are kept in an int array indexed by a dictionary id
+     * per username, and the k best are selected with a heap of size k, so
+     * this takes O(E + U log k) time for E edges and U followed users.
+     * 
+     * @param followsGraph
+     *            a social network (as defined above)
+     * @param k
+     *            maximum number of usernames to return, >= 0
+     * @return the min(k, U) usernames in followsGraph with the most followers,
+     *         as the first min(k, U) usernames of influencers(followsGraph), in
+     *         descending order of follower count, ties broken alphabetically.
+     * @throws IllegalArgumentException if k < 0
+     */
+    public static List<String> influencers(Map<String, Set<String>> followsGraph, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be nonnegative: " + k);
+        }
+        Map<String, Integer> ids = new HashMap<>();
+        String[] names = new String[16];
+        int[] counts = new int[16];
+        for (Set<String> follows : followsGraph.values()) {
+            for (String followed : follows) {
+                Integer id = ids.get(followed);
+                if (id == null) {
+                    id = ids.size();
+                    if (id == names.length) {
+                        names = Arrays.copyOf(names, 2 * id);
+                        counts = Arrays.copyOf(counts, 2 * id);
+                    }
+                    names[id] = followed;
+                    ids.put(followed, id);
+                }
+                counts[id]++;
             }
         }
-        Comparator<Map.Entry<String, Long>> comparator = Map.Entry.comparingByValue();
-        return followedGraph.entrySet().stream()
-                .sorted(comparator.reversed())
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        TopK top = new TopK(k, names, counts);
+        for (int id = 0; id < ids.size(); id++) {
+            top.offer(id);
+        }
+        return top.drain();
+    }
+
+    /**
+     * Find the k people in a compact social network who have the most
+     * followers, reading follower counts from its reverse index.
+     * 
+     * @param followsGraph
+     *            a social network in compact form
+     * @param k
+     *            maximum number of usernames to return, >= 0
+     * @return the same list as influencers(followsGraph.toMap(), k).
+     * @throws IllegalArgumentException if k < 0
+     */
+    public static List<String> influencers(CompactFollowsGraph followsGraph, int k) {
+        return followsGraph.influencers(k);
     }
 
 }
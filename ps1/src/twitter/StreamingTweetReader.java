@@ -0,0 +1,167 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+/**
+ * Read tweets one at a time from a JSON array of tweets, in the same format
+ * accepted by TweetReader.
+ *
+ * Unlike TweetReader, which materializes the whole JSON document before the
+ * first Tweet is made, this reader pulls parser events on demand and decodes
+ * each tweet with TweetDecoder, so memory use depends on the size of a single
+ * tweet rather than the size of the input.
+ *
+ * A StreamingTweetReader is a single-use iterator and is not thread-safe.
+ * Closing it closes the underlying reader.
+ */
+public class StreamingTweetReader implements Iterator<Tweet>, Closeable {
+
+    private final JsonParser parser;
+    private Tweet nextTweet;
+    private boolean started;
+    private boolean finished;
+    /* Rep invariant:
+     *    finished implies nextTweet == null
+     *    nextTweet != null implies started
+     * Abstraction function:
+     *    represents the tweets remaining in the array read by parser,
+     *    starting with nextTweet if it is non-null
+     */
+
+    /**
+     * Make a reader over a stream containing a JSON array of tweets.
+     *
+     * @param reader
+     *            source of the JSON text; owned by this reader from now on.
+     */
+    public StreamingTweetReader(Reader reader) {
+        this.parser = Json.createParser(reader);
+    }
+
+    /**
+     * Stream tweets from a web server without buffering the whole response.
+     *
+     * @param url URL of server to retrieve tweets from
+     * @return a sequential, ordered stream of the tweets in the response.
+     *         Closing the stream closes the connection.
+     * @throws IOException if the url is invalid, the server is unreachable,
+     *                     or some other network-related error occurs.
+     */
+    public static Stream<Tweet> streamTweetsFromWeb(URL url) throws IOException {
+        return streamTweets(new InputStreamReader(url.openStream()));
+    }
+
+    /**
+     * Stream tweets from a JSON array of tweets.
+     *
+     * @param reader
+     *            source of the JSON text; closed when the stream is closed.
+     * @return a sequential, ordered stream of the tweets in reader.
+     */
+    public static Stream<Tweet> streamTweets(Reader reader) {
+        StreamingTweetReader tweetReader = new StreamingTweetReader(reader);
+        return StreamSupport.stream(tweetReader.spliterator(), false)
+                .onClose(tweetReader::close);
+    }
+
+    /**
+     * @return a spliterator over the remaining tweets of this reader. The
+     *         spliterator does not split, since the underlying stream can
+     *         only be read sequentially.
+     */
+    public Spliterator<Tweet> spliterator() {
+        // not Spliterators.spliteratorUnknownSize, which splits by copying
+        // batches of tweets into arrays
+        return new Spliterator<Tweet>() {
+            @Override
+            public boolean tryAdvance(Consumer<? super Tweet> action) {
+                if (!hasNext()) {
+                    return false;
+                }
+                action.accept(next());
+                return true;
+            }
+
+            @Override
+            public Spliterator<Tweet> trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextTweet == null && !finished) {
+            nextTweet = advance();
+        }
+        return nextTweet != null;
+    }
+
+    @Override
+    public Tweet next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Tweet tweet = nextTweet;
+        nextTweet = null;
+        return tweet;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        nextTweet = null;
+        parser.close();
+    }
+
+    /*
+     * Parse the next tweet out of the array.
+     *
+     * @return the next tweet, or null if the array has ended.
+     */
+    private Tweet advance() {
+        if (!started) {
+            started = true;
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new JsonException("Expected a JSON array of tweets");
+            }
+        }
+        JsonParser.Event event = parser.next();
+        switch (event) {
+        case START_OBJECT:
+            return TweetDecoder.decode(parser);
+        case END_ARRAY:
+            finished = true;
+            return null;
+        default:
+            throw new JsonException("Unexpected event " + event + " in array of tweets");
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Thread-safe registry of standing queries (subscriptions) that matches each
+ * incoming tweet against all of them at once.
+ *
+ * A subscription combines the conditions of Filter.writtenBy,
+ * Filter.containing and Filter.inTimespan: a tweet matches if its author is
+ * one of the subscription's authors, some word of its text is one of the
+ * subscription's keywords, and its timestamp is in the subscription's window,
+ * where an empty author or keyword set and a null window impose no condition.
+ *
+ * The registry indexes the subscriptions themselves. A subscription with
+ * authors is filed under each of its case-folded authors; one without
+ * authors but with keywords is filed under each of its case-folded keywords;
+ * one with neither but with a window is filed under the end of its window,
+ * in time order; and one with no condition at all is kept on a list that
+ * matches every tweet. Matching a tweet splits its text into case-folded
+ * words once, looks up its author and each of its words, checks the keywords
+ * of the author's subscriptions against those words, and checks the start of
+ * only the windows that have not ended by the tweet's timestamp. It takes
+ * time proportional to the tweet's length plus the number of candidates,
+ * rather than to the number of subscriptions.
+ *
+ * Any number of threads may match tweets concurrently, without locking, while
+ * other threads subscribe and unsubscribe. A tweet matched concurrently with
+ * a change to the registry may or may not be matched against the
+ * subscription being added or removed.
+ */
+public class SubscriptionRegistry {
+
+    private final Map<String, Set<Subscription>> byAuthor = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscription>> byKeyword = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Instant, Set<Subscription>> byWindowEnd = new ConcurrentSkipListMap<>();
+    private final Set<Subscription> unconditional = ConcurrentHashMap.newKeySet();
+    private final Set<Subscription> all = ConcurrentHashMap.newKeySet();
+    /* Rep invariant:
+     *    every subscription s in all is in exactly one of:
+     *      byAuthor.get(a) for every a in s.authors, if s.authors is nonempty
+     *      byKeyword.get(k) for every k in s.keywords, if s.authors is empty
+     *        and s.keywords is nonempty
+     *      byWindowEnd.get(s.window.getEnd()), if s.authors and s.keywords
+     *        are empty and s.window is not null
+     *      unconditional, otherwise
+     *    and no other subscription is in byAuthor, byKeyword, byWindowEnd or
+     *    unconditional; no set in byAuthor, byKeyword or byWindowEnd is empty
+     *    (transiently violated while a subscribe or unsubscribe is in progress)
+     * Abstraction function:
+     *    represents the set of subscriptions all
+     * Thread safety argument:
+     *    all fields are concurrent collections, so lookups never see a
+     *    corrupted structure; subscribe and unsubscribe are synchronized so
+     *    that they do not interleave with each other. Subscriptions are
+     *    immutable.
+     */
+
+    /**
+     * Make an empty registry.
+     */
+    public SubscriptionRegistry() {}
+
+    /**
+     * Add a subscription; it is matched against tweets from now on.
+     *
+     * @param subscription subscription to add; adding one that is already
+     *                     registered has no effect
+     */
+    public synchronized void subscribe(Subscription subscription) {
+        if (!all.add(subscription)) {
+            return;
+        }
+        if (!subscription.authors.isEmpty()) {
+            for (String author : subscription.authors) {
+                byAuthor.computeIfAbsent(author, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+        } else if (!subscription.keywords.isEmpty()) {
+            for (String keyword : subscription.keywords) {
+                byKeyword.computeIfAbsent(keyword, key -> ConcurrentHashMap.newKeySet()).add(subscription);
+            }
+        } else if (subscription.window != null) {
+            byWindowEnd.computeIfAbsent(subscription.window.getEnd(), key -> ConcurrentHashMap.newKeySet())
+                    .add(subscription);
+        } else {
+            unconditional.add(subscription);
+        }
+    }
+
+    /**
+     * Remove a subscription; it is no longer matched against tweets.
+     *
+     * @param subscription subscription to remove; removing one that is not
+     *                     registered has no effect
+     */
+    public synchronized void unsubscribe(Subscription subscription) {
+        if (!all.remove(subscription)) {
+            return;
+        }
+        if (!subscription.authors.isEmpty()) {
+            for (String author : subscription.authors) {
+                removeFiled(byAuthor, author, subscription);
+            }
+        } else if (!subscription.keywords.isEmpty()) {
+            for (String keyword : subscription.keywords) {
+                removeFiled(byKeyword, keyword, subscription);
+            }
+        } else if (subscription.window != null) {
+            removeFiled(byWindowEnd, subscription.window.getEnd(), subscription);
+        } else {
+            unconditional.remove(subscription);
+        }
+    }
+
+    private static <K> void removeFiled(Map<K, Set<Subscription>> index, K key, Subscription subscription) {
+        Set<Subscription> filed = index.get(key);
+        filed.remove(subscription);
+        if (filed.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * @return number of registered subscriptions
+     */
+    public int size() {
+        return all.size();
+    }
+
+    /**
+     * Find the subscriptions a tweet matches.
+     *
+     * @param tweet incoming tweet
+     * @return the registered subscriptions that tweet matches, each once, in
+     *         no particular order
+     */
+    public List<Subscription> match(Tweet tweet) {
+        List<Subscription> matches = new ArrayList<>();
+        Set<String> words = null;
+        Set<Subscription> byThisAuthor = byAuthor.get(CaseFolding.foldCase(tweet.getAuthor()));
+        if (byThisAuthor != null) {
+            for (Subscription subscription : byThisAuthor) {
+                if (!subscription.keywords.isEmpty() && words == null) {
+                    words = foldedWords(tweet);
+                }
+                if ((subscription.keywords.isEmpty() || subscription.containsKeyword(words))
+                        && subscription.matchesTime(tweet)) {
+                    matches.add(subscription);
+                }
+            }
+        }
+        if (!byKeyword.isEmpty()) {
+            if (words == null) {
+                words = foldedWords(tweet);
+            }
+            Set<Subscription> seen = Collections.newSetFromMap(new IdentityHashMap<Subscription, Boolean>());
+            for (String word : words) {
+                Set<Subscription> byThisWord = byKeyword.get(word);
+                if (byThisWord == null) {
+                    continue;
+                }
+                for (Subscription subscription : byThisWord) {
+                    if (seen.add(subscription) && subscription.matchesTime(tweet)) {
+                        matches.add(subscription);
+                    }
+                }
+            }
+        }
+        Instant timestamp = tweet.getTimestamp();
+        for (Set<Subscription> endingLater : byWindowEnd.tailMap(timestamp, true).values()) {
+            for (Subscription subscription : endingLater) {
+                if (!timestamp.isBefore(subscription.window.getStart())) {
+                    matches.add(subscription);
+                }
+            }
+        }
+        matches.addAll(unconditional);
+        return matches;
+    }
+
+    private static Set<String> foldedWords(Tweet tweet) {
+        Set<String> words = new HashSet<>();
+        WordMatcher.addFoldedWords(tweet.getText(), words);
+        return words;
+    }
+
+    /**
+     * Immutable standing query. Subscriptions are compared by identity, so two
+     * subscriptions with the same conditions are registered separately.
+     */
+    public static class Subscription {
+
+        private final String name;
+        private final Set<String> authors;
+        private final Set<String> keywords;
+        private final Timespan window;
+        private final WordMatcher matcher;
+        /* Rep invariant:
+         *    authors and keywords are case-folded (CaseFolding.foldCase), and
+         *    neither contains an empty string
+         *    matcher is compiled from keywords
+         * Abstraction function:
+         *    represents the saved search called name for tweets written by one
+         *    of authors (any author if empty), containing one of keywords (any
+         *    text if empty), sent during window (any time if null)
+         * Safety from rep exposure:
+         *    authors and keywords are unmodifiable copies
+         */
+
+        private Subscription(String name, Set<String> authors, Set<String> keywords, Timespan window) {
+            this.name = name;
+            this.authors = Collections.unmodifiableSet(authors);
+            this.keywords = Collections.unmodifiableSet(keywords);
+            this.window = window;
+            this.matcher = WordMatcher.compile(new ArrayList<>(keywords));
+        }
+
+        /**
+         * Make a subscription.
+         *
+         * @param name name to identify the subscription by, for its owner
+         * @param authors Twitter usernames; matched tweets are written by
+         *                one of them, ignoring case. Empty for any author.
+         * @param keywords words, each a nonempty sequence of nonspace
+         *                 characters; matched tweets contain one of them, as
+         *                 in Filter.containing. Empty for any text.
+         * @param window timespan, including its endpoints, during which
+         *               matched tweets were sent; null for any time
+         * @return a subscription with these conditions
+         */
+        public static Subscription of(String name, Collection<String> authors, Collection<String> keywords,
+                Timespan window) {
+            Set<String> foldedAuthors = new LinkedHashSet<>();
+            for (String author : authors) {
+                if (!author.isEmpty()) {
+                    foldedAuthors.add(CaseFolding.foldCase(author));
+                }
+            }
+            Set<String> foldedKeywords = new LinkedHashSet<>();
+            for (String keyword : keywords) {
+                if (!keyword.isEmpty()) {
+                    foldedKeywords.add(CaseFolding.foldCase(keyword));
+                }
+            }
+            return new Subscription(name, foldedAuthors, foldedKeywords, window);
+        }
+
+        /**
+         * @return name of this subscription
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the authors of this subscription, case-folded; empty if any
+         *         author matches
+         */
+        public Set<String> getAuthors() {
+            return authors;
+        }
+
+        /**
+         * @return the keywords of this subscription, case-folded; empty if any
+         *         text matches
+         */
+        public Set<String> getKeywords() {
+            return keywords;
+        }
+
+        /**
+         * @return the window of this subscription, or null if any time matches
+         */
+        public Timespan getWindow() {
+            return window;
+        }
+
+        /**
+         * @param tweet a tweet
+         * @return true iff tweet satisfies every condition of this subscription
+         */
+        public boolean matches(Tweet tweet) {
+            return (authors.isEmpty() || authors.contains(CaseFolding.foldCase(tweet.getAuthor())))
+                    && (keywords.isEmpty() || matcher.matches(tweet.getText())) && matchesTime(tweet);
+        }
+
+        /*
+         * @param words case-folded words of a tweet's text
+         * @return true iff one of this subscription's keywords is in words
+         */
+        boolean containsKeyword(Set<String> words) {
+            return !Collections.disjoint(keywords, words);
+        }
+
+        boolean matchesTime(Tweet tweet) {
+            if (window == null) {
+                return true;
+            }
+            Instant timestamp = tweet.getTimestamp();
+            return !timestamp.isBefore(window.getStart()) && !timestamp.isAfter(window.getEnd());
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
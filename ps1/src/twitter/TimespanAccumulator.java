@@ -0,0 +1,118 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.NoSuchElementException;
+import java.util.stream.Collector;
+
+/**
+ * Mutable, mergeable accumulator of the minimum-length Timespan containing a
+ * sequence of timestamps. Extremes are kept as epoch seconds and nanoseconds
+ * rather than Instants, so accepting a tweet allocates nothing.
+ *
+ * Accumulators over disjoint parts of a collection can be combined, which
+ * makes them suitable both for streams of arriving tweets and for parallel
+ * reductions. A TimespanAccumulator is not thread-safe.
+ */
+public class TimespanAccumulator {
+
+    private boolean empty = true;
+    private long minSecond;
+    private int minNano;
+    private long maxSecond;
+    private int maxNano;
+    /* Rep invariant:
+     *    !empty implies (minSecond, minNano) <= (maxSecond, maxNano), compared
+     *    lexicographically, and 0 <= minNano, maxNano < 1e9
+     * Abstraction function:
+     *    represents the smallest interval containing every accepted timestamp,
+     *    from minSecond + minNano ns to maxSecond + maxNano ns, or no interval
+     *    if empty
+     */
+
+    /**
+     * Make an accumulator that has accepted no timestamps.
+     */
+    public TimespanAccumulator() {}
+
+    /**
+     * @return a collector that reduces tweets to the minimum-length Timespan
+     *         containing all of their timestamps; it supports parallel
+     *         streams. The finisher throws NoSuchElementException if no
+     *         tweet had a timestamp.
+     */
+    public static Collector<Tweet, TimespanAccumulator, Timespan> collector() {
+        return Collector.of(TimespanAccumulator::new, TimespanAccumulator::accept,
+                TimespanAccumulator::combine, TimespanAccumulator::toTimespan,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Extend the interval to contain tweet's timestamp.
+     *
+     * @param tweet tweet to accept; ignored if its timestamp is null
+     */
+    public void accept(Tweet tweet) {
+        Instant timestamp = tweet.getTimestamp();
+        if (timestamp != null) {
+            accept(timestamp.getEpochSecond(), timestamp.getNano());
+        }
+    }
+
+    /**
+     * Extend the interval to contain a timestamp.
+     *
+     * @param epochSecond seconds since the epoch
+     * @param nano nanoseconds within the second, 0 <= nano < 1e9
+     */
+    public void accept(long epochSecond, int nano) {
+        if (empty) {
+            empty = false;
+            minSecond = maxSecond = epochSecond;
+            minNano = maxNano = nano;
+            return;
+        }
+        if (epochSecond < minSecond || (epochSecond == minSecond && nano < minNano)) {
+            minSecond = epochSecond;
+            minNano = nano;
+        }
+        if (epochSecond > maxSecond || (epochSecond == maxSecond && nano > maxNano)) {
+            maxSecond = epochSecond;
+            maxNano = nano;
+        }
+    }
+
+    /**
+     * Extend the interval to contain every timestamp accepted by other.
+     *
+     * @param other accumulator to merge, not modified by this method
+     * @return this accumulator
+     */
+    public TimespanAccumulator combine(TimespanAccumulator other) {
+        if (!other.empty) {
+            accept(other.minSecond, other.minNano);
+            accept(other.maxSecond, other.maxNano);
+        }
+        return this;
+    }
+
+    /**
+     * @return true iff no timestamp has been accepted
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return the minimum-length interval containing every accepted timestamp
+     * @throws NoSuchElementException if no timestamp has been accepted
+     */
+    public Timespan toTimespan() {
+        if (empty) {
+            throw new NoSuchElementException("no timestamps accepted");
+        }
+        return new Timespan(Instant.ofEpochSecond(minSecond, minNano), Instant.ofEpochSecond(maxSecond, maxNano));
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mutable selection of the k best users offered, by follower count, from
+ * users identified by dictionary ids: names[id] is the username and
+ * counts[id] its follower count. Users rank in descending order of count,
+ * ties broken alphabetically.
+ *
+ * The selection is a min-heap of at most k ids with the worst selected user at
+ * the root, so offering U users costs O(U log k) and never boxes a count.
+ */
+class TopK {
+
+    private final String[] names;
+    private final int[] counts;
+    private final int k;
+    private int[] heap;
+    private int size;
+    /* Rep invariant:
+     *    0 <= size <= k, size <= heap.length
+     *    heap[0..size) is a heap: no id is better than its parent
+     * Abstraction function:
+     *    represents the best min(k, number offered) of the users offered
+     */
+
+    /**
+     * Make an empty selection.
+     *
+     * @param k maximum number of users to select, >= 0
+     * @param names usernames by id; not modified while the selection is in use
+     * @param counts follower counts by id; not modified while the selection is
+     *               in use
+     */
+    TopK(int k, String[] names, int[] counts) {
+        this.names = names;
+        this.counts = counts;
+        this.k = k;
+        this.heap = new int[Math.min(k, 16)];
+    }
+
+    /**
+     * Offer a user, which is selected if it is better than the worst of k
+     * users already selected. Each id must be offered at most once.
+     *
+     * @param id id of the user
+     */
+    void offer(int id) {
+        if (size < k) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+            }
+            heap[size] = id;
+            siftUp(size++);
+        } else if (k > 0 && better(id, heap[0])) {
+            heap[0] = id;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Empty the selection.
+     *
+     * @return the usernames selected, best first
+     */
+    List<String> drain() {
+        String[] best = new String[size];
+        while (size > 0) {
+            best[size - 1] = names[heap[0]];
+            heap[0] = heap[--size];
+            siftDown(0);
+        }
+        return new ArrayList<>(Arrays.asList(best));
+    }
+
+    private boolean better(int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b];
+        }
+        return names[a].compareTo(names[b]) < 0;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], id)) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = id;
+    }
+
+    private void siftDown(int i) {
+        if (size == 0) {
+            return;
+        }
+        int id = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(heap[child], heap[child + 1])) {
+                child++;
+            }
+            if (!better(id, heap[child])) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = id;
+    }
+}
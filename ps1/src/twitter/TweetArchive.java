@@ -0,0 +1,237 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Compact binary, column-oriented on-disk format for a list of tweets.
+ *
+ * An archive stores tweet ids and timestamps (as epoch seconds) in long
+ * columns, authors as int ids into a dictionary of distinct usernames, and all
+ * tweet texts as one UTF-8 blob indexed by an offset column. Opening an archive
+ * maps the file and returns a List view that makes each Tweet only when it is
+ * requested, so loading an archive costs neither JSON parsing nor one object
+ * per tweet.
+ *
+ * Layout (all integers big-endian):
+ * <pre>
+ *   int magic "TWA1", int version, int flags, int count, int authorCount, int padding
+ *   long[count]          ids
+ *   long[count]          timestamp epoch seconds
+ *   int[count]           timestamp nanoseconds, only if flags has HAS_NANOS
+ *   int[count]           author ids
+ *   int[count + 1]       text offsets into the text blob
+ *   int[authorCount + 1] author offsets into the author blob
+ *   byte[]               author blob, UTF-8
+ *   byte[]               text blob, UTF-8
+ * </pre>
+ * An archive must be smaller than 2GB; shard larger collections.
+ */
+public class TweetArchive {
+
+    private static final int MAGIC = 0x54574131;
+    private static final int VERSION = 1;
+    private static final int HAS_NANOS = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private TweetArchive() {}
+
+    /**
+     * Write tweets to an archive file, replacing it if it exists.
+     *
+     * @param tweets tweets to write, not modified by this method
+     * @param file file to write
+     * @throws IOException if the file cannot be written, or the archive
+     *                     would be 2GB or larger
+     */
+    public static void write(List<Tweet> tweets, Path file) throws IOException {
+        int count = tweets.size();
+        Map<String, Integer> authorIds = new HashMap<>();
+        List<byte[]> authors = new ArrayList<>();
+        int[] tweetAuthors = new int[count];
+        byte[][] texts = new byte[count][];
+        boolean hasNanos = false;
+        long textBytes = 0;
+        long authorBytes = 0;
+        for (int i = 0; i < count; i++) {
+            Tweet tweet = tweets.get(i);
+            Integer authorId = authorIds.get(tweet.getAuthor());
+            if (authorId == null) {
+                authorId = authors.size();
+                authorIds.put(tweet.getAuthor(), authorId);
+                byte[] author = tweet.getAuthor().getBytes(StandardCharsets.UTF_8);
+                authors.add(author);
+                authorBytes += author.length;
+            }
+            tweetAuthors[i] = authorId;
+            texts[i] = tweet.getText().getBytes(StandardCharsets.UTF_8);
+            textBytes += texts[i].length;
+            hasNanos |= tweet.getTimestamp().getNano() != 0;
+        }
+
+        long size = HEADER_BYTES + 16L * count + (hasNanos ? 4L * count : 0) + 4L * count
+                + 4L * (count + 1) + 4L * (authors.size() + 1) + authorBytes + textBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("archive of " + size + " bytes is too large; shard the tweets");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(hasNanos ? HAS_NANOS : 0);
+            out.writeInt(count);
+            out.writeInt(authors.size());
+            out.writeInt(0);
+            for (Tweet tweet : tweets) {
+                out.writeLong(tweet.getId());
+            }
+            for (Tweet tweet : tweets) {
+                out.writeLong(tweet.getTimestamp().getEpochSecond());
+            }
+            if (hasNanos) {
+                for (Tweet tweet : tweets) {
+                    out.writeInt(tweet.getTimestamp().getNano());
+                }
+            }
+            for (int authorId : tweetAuthors) {
+                out.writeInt(authorId);
+            }
+            writeOffsets(texts, out);
+            writeOffsets(authors.toArray(new byte[0][]), out);
+            for (byte[] author : authors) {
+                out.write(author);
+            }
+            for (byte[] text : texts) {
+                out.write(text);
+            }
+        }
+    }
+
+    private static void writeOffsets(byte[][] values, DataOutputStream out) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] value : values) {
+            offset += value.length;
+            out.writeInt(offset);
+        }
+    }
+
+    /**
+     * Open an archive written by write().
+     *
+     * @param file archive file
+     * @return an unmodifiable list of the archived tweets, in the order they
+     *         were written. Tweets are decoded from the mapped file on each
+     *         call to get(). The list stays valid after the file is closed.
+     * @throws IOException if the file cannot be read or is not an archive
+     */
+    public static List<Tweet> open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("archive too large: " + file);
+            }
+            return new MappedTweetList(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /*
+     * List view over a mapped archive.
+     */
+    private static class MappedTweetList extends AbstractList<Tweet> implements RandomAccess {
+
+        private final ByteBuffer buffer;
+        private final int count;
+        private final int idsAt;
+        private final int secondsAt;
+        private final int nanosAt;
+        private final int authorIdsAt;
+        private final int textOffsetsAt;
+        private final int textBlobAt;
+        private final String[] authors;
+        /* Rep invariant:
+         *    every *At field is an absolute position in buffer of the column
+         *    of the same name described in the layout above; nanosAt < 0 if
+         *    the archive has no nanosecond column
+         * Abstraction function:
+         *    represents the list whose i-th tweet has id, timestamp, author and
+         *    text read from row i of the columns of buffer
+         * Safety from rep exposure:
+         *    buffer is read-only and private; get() returns new immutable Tweets
+         */
+
+        MappedTweetList(ByteBuffer buffer) throws IOException {
+            this.buffer = buffer;
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("not a tweet archive");
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("unsupported tweet archive version " + buffer.getInt(4));
+            }
+            boolean hasNanos = (buffer.getInt(8) & HAS_NANOS) != 0;
+            this.count = buffer.getInt(12);
+            int authorCount = buffer.getInt(16);
+
+            this.idsAt = HEADER_BYTES;
+            this.secondsAt = idsAt + 8 * count;
+            this.nanosAt = hasNanos ? secondsAt + 8 * count : -1;
+            this.authorIdsAt = secondsAt + 8 * count + (hasNanos ? 4 * count : 0);
+            this.textOffsetsAt = authorIdsAt + 4 * count;
+            int authorOffsetsAt = textOffsetsAt + 4 * (count + 1);
+            int authorBlobAt = authorOffsetsAt + 4 * (authorCount + 1);
+            this.textBlobAt = authorBlobAt + buffer.getInt(authorOffsetsAt + 4 * authorCount);
+
+            // authors are few and shared by many tweets, so decode them once
+            this.authors = new String[authorCount];
+            for (int a = 0; a < authorCount; a++) {
+                int start = buffer.getInt(authorOffsetsAt + 4 * a);
+                int end = buffer.getInt(authorOffsetsAt + 4 * (a + 1));
+                authors[a] = utf8(authorBlobAt + start, end - start);
+            }
+        }
+
+        @Override
+        public Tweet get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("index " + index + ", size " + count);
+            }
+            long id = buffer.getLong(idsAt + 8 * index);
+            long seconds = buffer.getLong(secondsAt + 8 * index);
+            int nanos = nanosAt < 0 ? 0 : buffer.getInt(nanosAt + 4 * index);
+            String author = authors[buffer.getInt(authorIdsAt + 4 * index)];
+            int start = buffer.getInt(textOffsetsAt + 4 * index);
+            int end = buffer.getInt(textOffsetsAt + 4 * (index + 1));
+            return new Tweet(id, author, utf8(textBlobAt + start, end - start),
+                    Instant.ofEpochSecond(seconds, nanos));
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        private String utf8(int position, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(position);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
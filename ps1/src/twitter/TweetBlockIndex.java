@@ -0,0 +1,332 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable block-level summary of a list of tweets that lets Filter.writtenBy
+ * and Filter.containing scans skip whole blocks that cannot match.
+ *
+ * The list is divided into consecutive blocks of a fixed number of tweets.
+ * For each block, one Bloom filter holds the case-folded words of its tweets'
+ * texts and another the case-folded authors. A scan consults a block's filter
+ * first and reads the block's tweets only if the filter says a match is
+ * possible. Filters have no false negatives, so results are exactly those of
+ * the Filter methods; false positives (about 1% of absent keys per block)
+ * only cost a block read.
+ *
+ * The filters are built in memory for any list, and can be written next to a
+ * persisted list (such as a TweetArchive file, see sidecar()) and read back
+ * when it is opened, so that skipped blocks of a mapped archive are never
+ * decoded at all.
+ *
+ * File layout (all integers big-endian):
+ * <pre>
+ *   int magic "TWB1", int version, int count, int blockSize, int blockCount
+ *   per block: word filter, author filter, each as int wordCount, long[wordCount]
+ * </pre>
+ */
+public class TweetBlockIndex {
+
+    /** Default number of tweets per block. */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private static final int MAGIC = 0x54574231;
+    private static final int VERSION = 1;
+
+    private final List<Tweet> tweets;
+    private final int blockSize;
+    private final BloomFilter[] wordFilters;
+    private final BloomFilter[] authorFilters;
+    /* Rep invariant:
+     *    blockSize > 0
+     *    wordFilters.length == authorFilters.length == ceil(tweets.size() / blockSize)
+     *    wordFilters[b] contains the case-folded words of the texts, and
+     *    authorFilters[b] the case-folded authors, of the tweets at positions
+     *    b*blockSize .. min((b+1)*blockSize, tweets.size())-1
+     * Abstraction function:
+     *    represents the list tweets, divided into blocks of blockSize tweets,
+     *    with a summary of each block's words and authors
+     * Safety from rep exposure:
+     *    all fields are private; tweets is not copied (so that a mapped
+     *    archive is not decoded) but is never mutated by this class, and
+     *    scans return new lists
+     */
+
+    private TweetBlockIndex(List<Tweet> tweets, int blockSize, BloomFilter[] wordFilters,
+            BloomFilter[] authorFilters) {
+        this.tweets = tweets;
+        this.blockSize = blockSize;
+        this.wordFilters = wordFilters;
+        this.authorFilters = authorFilters;
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert blockSize > 0;
+        assert wordFilters.length == blockCount(tweets.size(), blockSize);
+        assert authorFilters.length == wordFilters.length;
+    }
+
+    private static int blockCount(int count, int blockSize) {
+        return (int) (((long) count + blockSize - 1) / blockSize);
+    }
+
+    /**
+     * Summarize tweets in blocks of DEFAULT_BLOCK_SIZE.
+     *
+     * @param tweets tweets to summarize; must not be modified while the
+     *               index is in use
+     * @return a block index of tweets
+     */
+    public static TweetBlockIndex of(List<Tweet> tweets) {
+        return of(tweets, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Summarize tweets in blocks of a given size.
+     *
+     * @param tweets tweets to summarize; must not be modified while the
+     *               index is in use
+     * @param blockSize number of tweets per block, > 0
+     * @return a block index of tweets
+     * @throws IllegalArgumentException if blockSize <= 0
+     */
+    public static TweetBlockIndex of(List<Tweet> tweets, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("block size must be positive: " + blockSize);
+        }
+        int blocks = blockCount(tweets.size(), blockSize);
+        BloomFilter[] wordFilters = new BloomFilter[blocks];
+        BloomFilter[] authorFilters = new BloomFilter[blocks];
+        Set<String> words = new HashSet<>();
+        Set<String> authors = new HashSet<>();
+        for (int b = 0; b < blocks; b++) {
+            words.clear();
+            authors.clear();
+            int end = Math.min(tweets.size(), (b + 1) * blockSize);
+            for (int i = b * blockSize; i < end; i++) {
+                Tweet tweet = tweets.get(i);
+                authors.add(CaseFolding.foldCase(tweet.getAuthor()));
+                WordMatcher.addFoldedWords(tweet.getText(), words);
+            }
+            wordFilters[b] = BloomFilter.of(words);
+            authorFilters[b] = BloomFilter.of(authors);
+        }
+        return new TweetBlockIndex(tweets, blockSize, wordFilters, authorFilters);
+    }
+
+    /**
+     * @param file file holding a persisted list of tweets, such as an archive
+     * @return the conventional file to hold the block index of file, next to it
+     */
+    public static Path sidecar(Path file) {
+        return file.resolveSibling(file.getFileName() + ".blocks");
+    }
+
+    /**
+     * Write this index's filters to a file, replacing it if it exists.
+     *
+     * @param file file to write, usually sidecar() of where the tweets are
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tweets.size());
+            out.writeInt(blockSize);
+            out.writeInt(wordFilters.length);
+            for (int b = 0; b < wordFilters.length; b++) {
+                wordFilters[b].write(out);
+                authorFilters[b].write(out);
+            }
+        }
+    }
+
+    /**
+     * Read filters written by write() and attach them to the tweets they
+     * were built from, without reading the tweets.
+     *
+     * @param tweets the tweets the filters were built from, in the same order;
+     *               must not be modified while the index is in use
+     * @param file file written by write()
+     * @return a block index of tweets
+     * @throws IOException if the file cannot be read, is not a block index, or
+     *                     was built from a different number of tweets
+     */
+    public static TweetBlockIndex read(List<Tweet> tweets, Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a tweet block index: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("unsupported tweet block index version " + version);
+            }
+            int count = in.readInt();
+            int blockSize = in.readInt();
+            int blocks = in.readInt();
+            if (count != tweets.size()) {
+                throw new IOException("block index covers " + count + " tweets, list has " + tweets.size());
+            }
+            if (blockSize <= 0 || blocks != blockCount(count, blockSize)) {
+                throw new IOException("corrupt tweet block index: " + file);
+            }
+            BloomFilter[] wordFilters = new BloomFilter[blocks];
+            BloomFilter[] authorFilters = new BloomFilter[blocks];
+            for (int b = 0; b < blocks; b++) {
+                wordFilters[b] = BloomFilter.read(in);
+                authorFilters[b] = BloomFilter.read(in);
+            }
+            return new TweetBlockIndex(tweets, blockSize, wordFilters, authorFilters);
+        }
+    }
+
+    /**
+     * @return number of tweets summarized
+     */
+    public int size() {
+        return tweets.size();
+    }
+
+    /**
+     * @return number of blocks
+     */
+    public int blockCount() {
+        return wordFilters.length;
+    }
+
+    /**
+     * Find tweets written by a particular user, reading only blocks whose
+     * author filter admits the user.
+     *
+     * @param username Twitter username
+     * @return scan whose tweets are the same as Filter.writtenBy over the
+     *         summarized list
+     */
+    public Scan writtenBy(String username) {
+        String folded = CaseFolding.foldCase(username);
+        List<Tweet> result = new ArrayList<>();
+        int read = 0;
+        for (int b = 0; b < authorFilters.length; b++) {
+            if (!authorFilters[b].mightContain(folded)) {
+                continue;
+            }
+            read++;
+            int end = Math.min(tweets.size(), (b + 1) * blockSize);
+            for (int i = b * blockSize; i < end; i++) {
+                Tweet tweet = tweets.get(i);
+                if (username.equalsIgnoreCase(tweet.getAuthor())) {
+                    result.add(tweet);
+                }
+            }
+        }
+        return new Scan(result, read, authorFilters.length - read);
+    }
+
+    /**
+     * Find tweets that contain certain words, reading only blocks whose word
+     * filter admits at least one of the words.
+     *
+     * @param words words to search for, as in Filter.containing
+     * @return scan whose tweets are the same as Filter.containing over the
+     *         summarized list
+     */
+    public Scan containing(List<String> words) {
+        List<String> folded = new ArrayList<>(words.size());
+        for (String word : words) {
+            if (!word.isEmpty()) {
+                folded.add(CaseFolding.foldCase(word));
+            }
+        }
+        WordMatcher matcher = WordMatcher.compile(words);
+        List<Tweet> result = new ArrayList<>();
+        int read = 0;
+        for (int b = 0; b < wordFilters.length; b++) {
+            if (!mightContainAny(wordFilters[b], folded)) {
+                continue;
+            }
+            read++;
+            int end = Math.min(tweets.size(), (b + 1) * blockSize);
+            for (int i = b * blockSize; i < end; i++) {
+                Tweet tweet = tweets.get(i);
+                if (matcher.matches(tweet.getText())) {
+                    result.add(tweet);
+                }
+            }
+        }
+        return new Scan(result, read, wordFilters.length - read);
+    }
+
+    private static boolean mightContainAny(BloomFilter filter, List<String> keys) {
+        for (String key : keys) {
+            if (filter.mightContain(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Immutable result of a block scan: the matching tweets, and how many
+     * blocks were read and skipped to find them.
+     */
+    public static class Scan {
+
+        private final List<Tweet> tweets;
+        private final int blocksRead;
+        private final int blocksSkipped;
+        /* Abstraction function:
+         *    represents the matches tweets, found by reading blocksRead blocks
+         *    and skipping blocksSkipped blocks
+         * Safety from rep exposure:
+         *    tweets is wrapped unmodifiable and not shared
+         */
+
+        private Scan(List<Tweet> tweets, int blocksRead, int blocksSkipped) {
+            this.tweets = Collections.unmodifiableList(tweets);
+            this.blocksRead = blocksRead;
+            this.blocksSkipped = blocksSkipped;
+        }
+
+        /**
+         * @return the matching tweets, in the same order as in the summarized list
+         */
+        public List<Tweet> getTweets() {
+            return tweets;
+        }
+
+        /**
+         * @return number of blocks whose tweets were read
+         */
+        public int getBlocksRead() {
+            return blocksRead;
+        }
+
+        /**
+         * @return number of blocks skipped because their filter ruled out a match
+         */
+        public int getBlocksSkipped() {
+            return blocksSkipped;
+        }
+
+        @Override
+        public String toString() {
+            return tweets.size() + " tweets, " + blocksRead + " blocks read, " + blocksSkipped + " skipped";
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+/**
+ * Decodes a single tweet from JSON parser events by projecting out only the
+ * fields a Tweet needs: "id", "user.screen_name", "text" and "created_at".
+ * All other members, including nested objects and arrays, are skipped
+ * without being materialized.
+ *
+ * The screen name is accepted either as a nested "user" object with a
+ * "screen_name" member, or as a flattened "user.screen_name" key.
+ */
+class TweetDecoder {
+
+    /**
+     * Format of the "created_at" field. DateTimeFormatter is immutable and
+     * thread-safe, so one instance is shared by every decode.
+     */
+    static final DateTimeFormatter CREATED_AT_FORMAT =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss Z yyyy", Locale.US);
+
+    private TweetDecoder() {}
+
+    /**
+     * Decode one tweet.
+     *
+     * @param parser
+     *            parser positioned just after the START_OBJECT of a tweet;
+     *            on return it is positioned just after the matching END_OBJECT.
+     * @return the tweet described by the object
+     * @throws JsonException if the object is malformed or is missing one of
+     *                       the projected fields
+     */
+    static Tweet decode(JsonParser parser) {
+        Long id = null;
+        String screenName = null;
+        String text = null;
+        String createdAt = null;
+
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_OBJECT) {
+            String name = keyName(parser, event);
+            event = parser.next();
+            switch (name) {
+            case "id":
+                id = longValue(parser, event);
+                break;
+            case "text":
+                text = stringValue(parser, event);
+                break;
+            case "created_at":
+                createdAt = stringValue(parser, event);
+                break;
+            case "user.screen_name":
+                screenName = stringValue(parser, event);
+                break;
+            case "user":
+                if (event == JsonParser.Event.START_OBJECT) {
+                    String nested = readScreenName(parser);
+                    if (nested != null) {
+                        screenName = nested;
+                    }
+                } else {
+                    skipValue(parser, event);
+                }
+                break;
+            default:
+                skipValue(parser, event);
+            }
+        }
+
+        if (id == null || screenName == null || text == null || createdAt == null) {
+            throw new JsonException("Tweet is missing one of id, user.screen_name, text, created_at");
+        }
+        return new Tweet(id, screenName, text,
+                ZonedDateTime.parse(createdAt, CREATED_AT_FORMAT).toInstant());
+    }
+
+    /*
+     * Read a "user" object whose START_OBJECT has just been consumed.
+     *
+     * @return its "screen_name" member, or null if it has none
+     */
+    private static String readScreenName(JsonParser parser) {
+        String screenName = null;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_OBJECT) {
+            String name = keyName(parser, event);
+            event = parser.next();
+            if (name.equals("screen_name")) {
+                screenName = stringValue(parser, event);
+            } else {
+                skipValue(parser, event);
+            }
+        }
+        return screenName;
+    }
+
+    /**
+     * Skip the value that starts with event, including any nested values.
+     *
+     * @param parser
+     *            parser that has just returned event; on return it is
+     *            positioned just after the end of the value.
+     * @param event
+     *            first event of the value to skip
+     */
+    static void skipValue(JsonParser parser, JsonParser.Event event) {
+        if (event != JsonParser.Event.START_OBJECT && event != JsonParser.Event.START_ARRAY) {
+            return;
+        }
+        int depth = 1;
+        while (depth > 0) {
+            switch (parser.next()) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    private static String keyName(JsonParser parser, JsonParser.Event event) {
+        if (event != JsonParser.Event.KEY_NAME) {
+            throw new JsonException("Unexpected event " + event + " in tweet");
+        }
+        return parser.getString();
+    }
+
+    private static String stringValue(JsonParser parser, JsonParser.Event event) {
+        switch (event) {
+        case VALUE_STRING:
+        case VALUE_NUMBER:
+            return parser.getString();
+        default:
+            skipValue(parser, event);
+            return event.toString();
+        }
+    }
+
+    private static long longValue(JsonParser parser, JsonParser.Event event) {
+        switch (event) {
+        case VALUE_NUMBER:
+            return parser.isIntegralNumber() ? parser.getLong() : Long.parseLong(parser.getString());
+        case VALUE_STRING:
+            return Long.parseLong(parser.getString());
+        default:
+            throw new JsonException("Unexpected event " + event + " for tweet id");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Long-running analytics over a growing collection of tweets, delivered in
+ * batches. Keeps the results that Main computes (timespan, mentioned users,
+ * follows graph, influencer ranking) up to date as each batch arrives, at a
+ * cost proportional to the size of the batch rather than to the number of
+ * tweets seen so far.
+ *
+ * The follows graph uses the evidence of SocialNetwork.guessFollowsGraph:
+ * every author is a node, and an author follows each user they @-mention.
+ * Usernames are case-folded, and a user's mentions of themselves are ignored.
+ *
+ * A TweetPipeline is thread-safe; batches are applied one at a time.
+ */
+public class TweetPipeline {
+
+    private int tweetCount;
+    private final TimespanAccumulator timespan = new TimespanAccumulator();
+    private final Set<String> mentionedUsers = new HashSet<>();
+    private final Map<String, Set<String>> followsGraph = new HashMap<>();
+    private final FollowerRanking ranking = new FollowerRanking();
+    private final MentionScanner mentionScanner = new MentionScanner();
+    private final List<String> mentionBuffer = new ArrayList<>();
+    /* Rep invariant:
+     *    timespan.isEmpty() iff tweetCount == 0
+     *    ranking.count(u) == number of keys a with u in followsGraph.get(a)
+     * Abstraction function:
+     *    represents analytics over the tweetCount tweets accepted so far:
+     *    their timespan, the users they mention, the follows
+     *    graph they give evidence for, and its users ranked by follower count
+     * Safety from rep exposure:
+     *    all fields are private; observers return copies made under the lock
+     */
+
+    /**
+     * Make a pipeline that has not seen any tweets.
+     */
+    public TweetPipeline() {}
+
+    /**
+     * Add a batch of tweets and update every result.
+     *
+     * @param batch tweets not previously accepted by this pipeline, with
+     *              distinct ids; not modified by this method
+     */
+    public synchronized void accept(List<Tweet> batch) {
+        for (Tweet tweet : batch) {
+            acceptTweet(tweet);
+        }
+    }
+
+    private void acceptTweet(Tweet tweet) {
+        tweetCount++;
+        timespan.accept(tweet);
+
+        String author = CaseFolding.foldCase(tweet.getAuthor());
+        Set<String> follows = followsGraph.get(author);
+        if (follows == null) {
+            follows = new HashSet<>();
+            followsGraph.put(author, follows);
+        }
+        mentionBuffer.clear();
+        mentionScanner.scan(tweet.getText(), mentionBuffer);
+        for (String mentioned : mentionBuffer) {
+            mentionedUsers.add(mentioned);
+            if (!mentioned.equals(author) && follows.add(mentioned)) {
+                ranking.increment(mentioned);
+            }
+        }
+    }
+
+    /**
+     * @return number of tweets accepted so far
+     */
+    public synchronized int getTweetCount() {
+        return tweetCount;
+    }
+
+    /**
+     * @return a minimum-length time interval that contains the timestamp of
+     *         every tweet accepted so far
+     * @throws IllegalStateException if no tweet has been accepted
+     */
+    public synchronized Timespan getTimespan() {
+        if (tweetCount == 0) {
+            throw new IllegalStateException("no tweets accepted");
+        }
+        return timespan.toTimespan();
+    }
+
+    /**
+     * @return the set of usernames, in lower case, mentioned by tweets
+     *         accepted so far
+     */
+    public synchronized Set<String> getMentionedUsers() {
+        return new HashSet<>(mentionedUsers);
+    }
+
+    /**
+     * @return number of distinct users mentioned by tweets accepted so far
+     */
+    public synchronized int getMentionedUserCount() {
+        return mentionedUsers.size();
+    }
+
+    /**
+     * @return a copy of the social network (as defined in SocialNetwork)
+     *         inferred from the tweets accepted so far
+     */
+    public synchronized Map<String, Set<String>> getFollowsGraph() {
+        Map<String, Set<String>> copy = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : followsGraph.entrySet()) {
+            copy.put(entry.getKey(), new HashSet<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * @return number of users who are keys of the follows graph, i.e. the
+     *         distinct authors of tweets accepted so far
+     */
+    public synchronized int getFollowsGraphSize() {
+        return followsGraph.size();
+    }
+
+    /**
+     * @param n maximum number of users to return, >= 0
+     * @return the n users with the most followers in the follows graph, in
+     *         descending order of follower count, ties broken alphabetically
+     */
+    public synchronized List<String> topInfluencers(int n) {
+        return ranking.top(n);
+    }
+}
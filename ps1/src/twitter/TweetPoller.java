@@ -0,0 +1,211 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Repeatedly fetches tweets from a server like Main.SAMPLE_SERVER and returns
+ * only the tweets that have not been seen before.
+ *
+ * Each poll is a conditional GET (If-None-Match / If-Modified-Since, from the
+ * previous response's ETag and Last-Modified) that asks for a gzip-encoded body
+ * and passes the highest tweet id seen so far as the since_id query parameter.
+ * A server that honors those features sends only new tweets, or nothing at all
+ * when the sample is unchanged; a server that ignores them still works, since
+ * tweets whose id is at most the highest id already seen are dropped here,
+ * and so are repeats of an id within one response.
+ * Tweet ids are assigned by Twitter in increasing order over time.
+ *
+ * Connections are released by reading each response to the end and closing
+ * its stream, which lets HttpURLConnection keep the connection alive for the
+ * next poll.
+ *
+ * A TweetPoller is thread-safe; concurrent polls are serialized.
+ */
+public class TweetPoller {
+
+    private final URL url;
+    private long highestId;
+    private boolean seenAny;
+    private String etag;
+    private String lastModified;
+    /* Rep invariant:
+     *    seenAny implies highestId is the largest id of any tweet returned by poll()
+     * Abstraction function:
+     *    represents a subscription to url that has already delivered every
+     *    tweet with id <= highestId (if seenAny), and whose last response had
+     *    validators etag and lastModified (each null if absent)
+     */
+
+    /**
+     * Make a poller that has not seen any tweets.
+     *
+     * @param url URL of server to retrieve tweets from
+     */
+    public TweetPoller(URL url) {
+        this.url = url;
+    }
+
+    /**
+     * Make a poller that treats every tweet with id <= sinceId as already seen.
+     *
+     * @param url URL of server to retrieve tweets from
+     * @param sinceId highest tweet id already ingested
+     */
+    public TweetPoller(URL url, long sinceId) {
+        this.url = url;
+        this.highestId = sinceId;
+        this.seenAny = true;
+    }
+
+    /**
+     * @return the highest id of any tweet seen so far, or Long.MIN_VALUE if
+     *         no tweet has been seen
+     */
+    public synchronized long getHighestId() {
+        return seenAny ? highestId : Long.MIN_VALUE;
+    }
+
+    /**
+     * Fetch the server's current tweets once.
+     *
+     * If the poll fails, this poller is unchanged: no tweet of the failed
+     * response counts as seen, so the next poll delivers them.
+     *
+     * @return the tweets not returned by any earlier poll, each id once (its
+     *         first occurrence in the response), in the order the server sent
+     *         them; empty if the server reports no change
+     * @throws IOException if the server is unreachable, answers with an error
+     *                     status, or some other network-related error occurs.
+     * @throws RuntimeException (such as javax.json.JsonException or
+     *                          java.time.format.DateTimeParseException) if the
+     *                          body is not a well-formed array of tweets
+     */
+    public synchronized List<Tweet> poll() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) requestUrl().openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+
+        int status = connection.getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            drainAndClose(connection.getInputStream());
+            return new ArrayList<>();
+        }
+        if (status != HttpURLConnection.HTTP_OK) {
+            InputStream error = connection.getErrorStream();
+            if (error != null) {
+                drainAndClose(error);
+            }
+            throw new IOException("server returned HTTP " + status + " for " + url);
+        }
+        // the validators and highestId are committed only once the whole
+        // body has been read, so a failed read leaves this poller unchanged
+        // and the next poll asks for the same tweets again
+        String newEtag = connection.getHeaderField("ETag");
+        String newLastModified = connection.getHeaderField("Last-Modified");
+
+        InputStream body = connection.getInputStream();
+        if ("gzip".equalsIgnoreCase(connection.getContentEncoding())) {
+            body = new GZIPInputStream(body);
+        }
+        List<Tweet> fresh = new ArrayList<>();
+        Set<Long> freshIds = new HashSet<>();
+        long newHighestId = highestId;
+        boolean newSeenAny = seenAny;
+        try (StreamingTweetReader reader = new StreamingTweetReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            while (reader.hasNext()) {
+                Tweet tweet = reader.next();
+                if ((seenAny && tweet.getId() <= highestId) || !freshIds.add(tweet.getId())) {
+                    continue;
+                }
+                fresh.add(tweet);
+                if (!newSeenAny || tweet.getId() > newHighestId) {
+                    newHighestId = tweet.getId();
+                    newSeenAny = true;
+                }
+            }
+            drain(body);
+        }
+        highestId = newHighestId;
+        seenAny = newSeenAny;
+        etag = newEtag;
+        lastModified = newLastModified;
+        return fresh;
+    }
+
+    /**
+     * Poll repeatedly on an executor, passing each nonempty batch of new
+     * tweets to listener. A failed poll, or an exception thrown by listener,
+     * is reported on System.err and the next poll is attempted on schedule.
+     *
+     * @param executor executor that runs the polls
+     * @param period time between the starts of successive polls, > 0
+     * @param unit unit of period
+     * @param listener receives each nonempty batch, in poll order, on an
+     *                 executor thread
+     * @return a future that cancels polling when cancelled
+     */
+    public ScheduledFuture<?> schedule(ScheduledExecutorService executor, long period, TimeUnit unit,
+            Consumer<List<Tweet>> listener) {
+        return executor.scheduleAtFixedRate(() -> {
+            try {
+                List<Tweet> fresh = poll();
+                if (!fresh.isEmpty()) {
+                    listener.accept(fresh);
+                }
+            } catch (IOException | RuntimeException e) {
+                // an exception escaping this task would cancel every later poll
+                System.err.println("poll of " + url + " failed: " + e);
+            }
+        }, 0, period, unit);
+    }
+
+    /*
+     * @return url with since_id appended when a tweet has been seen
+     */
+    private URL requestUrl() throws MalformedURLException {
+        if (!seenAny) {
+            return url;
+        }
+        String separator = url.getQuery() == null ? "?" : "&";
+        return new URL(url.toExternalForm() + separator + "since_id=" + highestId);
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        while (in.read(buffer) >= 0) {
+            // discard, so the connection can be reused
+        }
+    }
+
+    private static void drainAndClose(InputStream in) throws IOException {
+        try {
+            drain(in);
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable conjunctive query over a list of tweets, combining the conditions
+ * of Filter.writtenBy, Filter.inTimespan and Filter.containing.
+ *
+ * Evaluation is planned by estimated selectivity. Each condition that has an
+ * index attached to the query (AuthorIndex, TweetTimeIndex, TweetTextIndex)
+ * reports how many tweets it would match; the most selective of them drives
+ * evaluation by producing candidate positions, and the remaining conditions
+ * are checked on each candidate as it streams past, most selective first.
+ * With no usable index, every tweet is scanned. Either way, results are
+ * produced lazily in list order, without intermediate lists of tweets.
+ *
+ * For example:
+ * <pre>
+ *   TweetQuery.over(tweets).using(authorIndex).using(timeIndex)
+ *             .where(TweetQuery.writtenBy("alyssa"), TweetQuery.inTimespan(span))
+ *             .list();
+ * </pre>
+ */
+public class TweetQuery {
+
+    /**
+     * Fraction of the tweets a condition is assumed to match when no index
+     * can estimate it, for ordering the checks.
+     */
+    private static final double UNINDEXED_SELECTIVITY = 0.5;
+
+    private final List<Tweet> tweets;
+    private final AuthorIndex authorIndex;
+    private final TweetTimeIndex timeIndex;
+    private final TweetTextIndex textIndex;
+    private final List<Condition> conditions;
+    /* Rep invariant:
+     *    each non-null index has size() == tweets.size()
+     * Abstraction function:
+     *    represents the tweets of the list tweets that satisfy every condition
+     *    in conditions, with the given indexes available for planning
+     * Safety from rep exposure:
+     *    conditions is an unmodifiable list; tweets and indexes are never
+     *    mutated by this class
+     */
+
+    private TweetQuery(List<Tweet> tweets, AuthorIndex authorIndex, TweetTimeIndex timeIndex,
+            TweetTextIndex textIndex, List<Condition> conditions) {
+        this.tweets = tweets;
+        this.authorIndex = authorIndex;
+        this.timeIndex = timeIndex;
+        this.textIndex = textIndex;
+        this.conditions = conditions;
+    }
+
+    /**
+     * Make a query that matches every tweet of a list.
+     *
+     * @param tweets a list of tweets with distinct ids; must not be modified
+     *               while the query or its results are in use
+     * @return a query with no conditions and no indexes
+     */
+    public static TweetQuery over(List<Tweet> tweets) {
+        return new TweetQuery(tweets, null, null, null, Collections.<Condition>emptyList());
+    }
+
+    /**
+     * @param index author index built over the same list as this query
+     * @return this query, able to use index for writtenBy conditions
+     * @throws IllegalArgumentException if index covers a different number of tweets
+     */
+    public TweetQuery using(AuthorIndex index) {
+        checkSize(index.size());
+        return new TweetQuery(tweets, index, timeIndex, textIndex, conditions);
+    }
+
+    /**
+     * @param index time index built over the same list as this query
+     * @return this query, able to use index for inTimespan conditions
+     * @throws IllegalArgumentException if index covers a different number of tweets
+     */
+    public TweetQuery using(TweetTimeIndex index) {
+        checkSize(index.size());
+        return new TweetQuery(tweets, authorIndex, index, textIndex, conditions);
+    }
+
+    /**
+     * @param index text index built over the same list as this query
+     * @return this query, able to use index for containing conditions
+     * @throws IllegalArgumentException if index covers a different number of tweets
+     */
+    public TweetQuery using(TweetTextIndex index) {
+        checkSize(index.size());
+        return new TweetQuery(tweets, authorIndex, timeIndex, index, conditions);
+    }
+
+    private void checkSize(int indexSize) {
+        if (indexSize != tweets.size()) {
+            throw new IllegalArgumentException("index covers " + indexSize + " tweets, query covers " + tweets.size());
+        }
+    }
+
+    /**
+     * @param more conditions to add
+     * @return a query matching the tweets that satisfy this query's
+     *         conditions and all of more
+     */
+    public TweetQuery where(Condition... more) {
+        List<Condition> all = new ArrayList<>(conditions);
+        all.addAll(Arrays.asList(more));
+        return new TweetQuery(tweets, authorIndex, timeIndex, textIndex, Collections.unmodifiableList(all));
+    }
+
+    /**
+     * @param username Twitter username
+     * @return condition satisfied by the tweets Filter.writtenBy would return
+     */
+    public static Condition writtenBy(String username) {
+        return new WrittenBy(username);
+    }
+
+    /**
+     * @param timespan timespan, including its endpoints
+     * @return condition satisfied by the tweets Filter.inTimespan would return
+     */
+    public static Condition inTimespan(Timespan timespan) {
+        return new InTimespan(timespan);
+    }
+
+    /**
+     * @param words words to search for, as in Filter.containing
+     * @return condition satisfied by the tweets Filter.containing would return
+     */
+    public static Condition containing(List<String> words) {
+        return new Containing(words);
+    }
+
+    /**
+     * @return the matching tweets, lazily, in list order
+     */
+    public Stream<Tweet> stream() {
+        Plan plan = plan();
+        Stream<Tweet> candidates = plan.driver == null
+                ? tweets.stream()
+                : Arrays.stream(plan.driver.positions(this)).mapToObj(tweets::get);
+        for (Condition residual : plan.residuals) {
+            candidates = candidates.filter(residual::test);
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the matching tweets, in list order
+     */
+    public List<Tweet> list() {
+        return stream().collect(Collectors.toList());
+    }
+
+    /**
+     * @return a human-readable description of how this query would be
+     *         evaluated, naming the driving condition and the order of the
+     *         remaining checks
+     */
+    public String explain() {
+        Plan plan = plan();
+        StringBuilder description = new StringBuilder();
+        description.append(plan.driver == null ? "scan " + tweets.size() + " tweets"
+                : "index " + plan.driver + " (~" + plan.driver.estimate(this) + " tweets)");
+        for (Condition residual : plan.residuals) {
+            description.append(", then check ").append(residual);
+        }
+        return description.toString();
+    }
+
+    /*
+     * Choice of driving condition (null to scan) and the order of residual checks.
+     */
+    private static class Plan {
+        final Condition driver;
+        final List<Condition> residuals;
+
+        Plan(Condition driver, List<Condition> residuals) {
+            this.driver = driver;
+            this.residuals = residuals;
+        }
+    }
+
+    private Plan plan() {
+        Map<Condition, Double> selectivities = new IdentityHashMap<>();
+        for (Condition condition : conditions) {
+            selectivities.put(condition, condition.selectivity(this));
+        }
+        List<Condition> ordered = new ArrayList<>(conditions);
+        Collections.sort(ordered, Comparator.comparingDouble(selectivities::get));
+        Condition driver = null;
+        for (Condition condition : ordered) {
+            if (condition.estimate(this) >= 0) {
+                driver = condition;
+                break;
+            }
+        }
+        if (driver != null) {
+            ordered.remove(driver);
+        }
+        return new Plan(driver, ordered);
+    }
+
+    /**
+     * A condition on tweets, usable in TweetQuery.where.
+     */
+    public static abstract class Condition {
+
+        Condition() {}
+
+        /**
+         * @return true iff tweet satisfies this condition
+         */
+        abstract boolean test(Tweet tweet);
+
+        /**
+         * @return exact or upper-bound number of the query's tweets that
+         *         satisfy this condition, from an index of query; -1 if query
+         *         has no index for this condition
+         */
+        abstract int estimate(TweetQuery query);
+
+        /**
+         * @return ascending positions of the query's tweets that satisfy this
+         *         condition; requires estimate(query) >= 0
+         */
+        abstract int[] positions(TweetQuery query);
+
+        /*
+         * Estimated fraction of the query's tweets satisfying this condition.
+         */
+        double selectivity(TweetQuery query) {
+            int estimate = estimate(query);
+            if (estimate < 0 || query.tweets.isEmpty()) {
+                return UNINDEXED_SELECTIVITY;
+            }
+            return (double) estimate / query.tweets.size();
+        }
+    }
+
+    private static class WrittenBy extends Condition {
+        private final String username;
+
+        WrittenBy(String username) {
+            this.username = username;
+        }
+
+        @Override boolean test(Tweet tweet) {
+            return username.equalsIgnoreCase(tweet.getAuthor());
+        }
+
+        @Override int estimate(TweetQuery query) {
+            return query.authorIndex == null ? -1 : query.authorIndex.countWrittenBy(username);
+        }
+
+        @Override int[] positions(TweetQuery query) {
+            return query.authorIndex.positionsWrittenBy(username);
+        }
+
+        @Override public String toString() {
+            return "writtenBy(" + username + ")";
+        }
+    }
+
+    private static class InTimespan extends Condition {
+        private final Timespan timespan;
+
+        InTimespan(Timespan timespan) {
+            this.timespan = timespan;
+        }
+
+        @Override boolean test(Tweet tweet) {
+            return !tweet.getTimestamp().isBefore(timespan.getStart())
+                    && !tweet.getTimestamp().isAfter(timespan.getEnd());
+        }
+
+        @Override int estimate(TweetQuery query) {
+            return query.timeIndex == null ? -1 : query.timeIndex.countInTimespan(timespan);
+        }
+
+        @Override int[] positions(TweetQuery query) {
+            return query.timeIndex.positionsInTimespan(timespan);
+        }
+
+        @Override public String toString() {
+            return "inTimespan" + timespan;
+        }
+    }
+
+    private static class Containing extends Condition {
+        private final List<String> words;
+        private final WordMatcher matcher;
+
+        Containing(List<String> words) {
+            this.words = new ArrayList<>(words);
+            this.matcher = WordMatcher.compile(words);
+        }
+
+        @Override boolean test(Tweet tweet) {
+            return matcher.matches(tweet.getText());
+        }
+
+        @Override int estimate(TweetQuery query) {
+            return query.textIndex == null ? -1 : query.textIndex.estimateContaining(words);
+        }
+
+        @Override int[] positions(TweetQuery query) {
+            return query.textIndex.positionsContaining(words);
+        }
+
+        @Override public String toString() {
+            return "containing" + words;
+        }
+    }
+}
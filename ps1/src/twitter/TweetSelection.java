@@ -0,0 +1,235 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * Immutable view of a subset of a source list of tweets, in source order,
+ * represented by one bit per source tweet instead of a copy of the matching
+ * references.
+ *
+ * Filtering a selection (through the Filter overloads that take one) yields
+ * another selection over the same source, so chained filters cost a bitmap
+ * each rather than an array of references. Selections over the same source
+ * combine with and, or and andNot, one machine word at a time.
+ *
+ * Random access by index is O(log n) through a rank directory kept alongside
+ * the bits; iteration walks the set bits directly.
+ *
+ * For example:
+ * <pre>
+ *   TweetSelection all = TweetSelection.of(tweets);
+ *   List&lt;Tweet&gt; recent = Filter.inTimespan(all, span);
+ *   List&lt;Tweet&gt; talks = Filter.containing(all, words).and(Filter.writtenBy(all, "alyssa"));
+ * </pre>
+ */
+public class TweetSelection extends AbstractList<Tweet> implements RandomAccess {
+
+    /** Words of bits per rank directory entry. */
+    private static final int WORDS_PER_BLOCK = 8;
+
+    private final List<Tweet> source;
+    private final long[] words;
+    private final int[] rank;
+    private final int size;
+    /* Rep invariant:
+     *    words.length == ceil(source.size() / 64), and no bit at or beyond
+     *    source.size() is set
+     *    rank.length == ceil(words.length / WORDS_PER_BLOCK), and rank[b] is
+     *    the number of set bits in words[0 .. b*WORDS_PER_BLOCK)
+     *    size is the number of set bits in words
+     * Abstraction function:
+     *    represents the list of source.get(i), in increasing i, for each i
+     *    whose bit (words[i/64] >>> i%64) & 1 is set
+     * Safety from rep exposure:
+     *    words and rank are private and never shared between selections;
+     *    source is shared but never mutated by this class, and
+     *    AbstractList's mutators throw UnsupportedOperationException
+     */
+
+    private TweetSelection(List<Tweet> source, long[] words) {
+        this.source = source;
+        this.words = words;
+        this.rank = new int[(words.length + WORDS_PER_BLOCK - 1) / WORDS_PER_BLOCK];
+        int count = 0;
+        for (int w = 0; w < words.length; w++) {
+            if (w % WORDS_PER_BLOCK == 0) {
+                rank[w / WORDS_PER_BLOCK] = count;
+            }
+            count += Long.bitCount(words[w]);
+        }
+        this.size = count;
+        checkRep();
+    }
+
+    private void checkRep() {
+        assert words.length == wordCount(source.size());
+        assert source.size() % 64 == 0 || words.length == 0
+                || (words[words.length - 1] >>> (source.size() % 64)) == 0;
+    }
+
+    /**
+     * Select every tweet of a list.
+     *
+     * @param source list of tweets; must not be modified while this selection
+     *               or any selection derived from it is in use
+     * @return a selection of all of source
+     */
+    public static TweetSelection of(List<Tweet> source) {
+        int n = source.size();
+        long[] words = new long[wordCount(n)];
+        for (int w = 0; w < n >>> 6; w++) {
+            words[w] = -1L;
+        }
+        if (n % 64 != 0) {
+            words[words.length - 1] = (1L << (n % 64)) - 1;
+        }
+        return new TweetSelection(source, words);
+    }
+
+    private static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * @return the list this is a selection of
+     */
+    public List<Tweet> source() {
+        return source;
+    }
+
+    /**
+     * @param condition condition to test on each selected tweet
+     * @return selection over the same source of the tweets of this selection
+     *         that satisfy condition
+     */
+    TweetSelection filter(Predicate<Tweet> condition) {
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                if (condition.test(source.get((w << 6) + bit))) {
+                    result[w] |= 1L << bit;
+                }
+                word &= word - 1;
+            }
+        }
+        return new TweetSelection(source, result);
+    }
+
+    /**
+     * @param other selection over the same source list
+     * @return selection of the tweets in both this and other
+     * @throws IllegalArgumentException if other selects from a different list
+     */
+    public TweetSelection and(TweetSelection other) {
+        checkSameSource(other);
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            result[w] = words[w] & other.words[w];
+        }
+        return new TweetSelection(source, result);
+    }
+
+    /**
+     * @param other selection over the same source list
+     * @return selection of the tweets in this or other or both
+     * @throws IllegalArgumentException if other selects from a different list
+     */
+    public TweetSelection or(TweetSelection other) {
+        checkSameSource(other);
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            result[w] = words[w] | other.words[w];
+        }
+        return new TweetSelection(source, result);
+    }
+
+    /**
+     * @param other selection over the same source list
+     * @return selection of the tweets in this but not in other
+     * @throws IllegalArgumentException if other selects from a different list
+     */
+    public TweetSelection andNot(TweetSelection other) {
+        checkSameSource(other);
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) {
+            result[w] = words[w] & ~other.words[w];
+        }
+        return new TweetSelection(source, result);
+    }
+
+    private void checkSameSource(TweetSelection other) {
+        if (other.source != source) {
+            throw new IllegalArgumentException("selections are over different lists");
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Tweet get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        int lo = 0;
+        int hi = rank.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (rank[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        int remaining = index - rank[lo];
+        int w = lo * WORDS_PER_BLOCK;
+        int count;
+        while (remaining >= (count = Long.bitCount(words[w]))) {
+            remaining -= count;
+            w++;
+        }
+        long word = words[w];
+        for (int i = 0; i < remaining; i++) {
+            word &= word - 1;
+        }
+        return source.get((w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    @Override
+    public Iterator<Tweet> iterator() {
+        return new Iterator<Tweet>() {
+            private int w = 0;
+            private long word = words.length == 0 ? 0 : words[0];
+
+            @Override
+            public boolean hasNext() {
+                while (word == 0 && w + 1 < words.length) {
+                    word = words[++w];
+                }
+                return word != 0;
+            }
+
+            @Override
+            public Tweet next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                return source.get((w << 6) + bit);
+            }
+        };
+    }
+}
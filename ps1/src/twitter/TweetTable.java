@@ -0,0 +1,321 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable column-oriented table of tweets, for analytics that scan many
+ * tweets per query.
+ *
+ * Each column is a primitive array indexed by row: tweet ids, timestamps as
+ * epoch seconds (plus nanoseconds when any timestamp has them), and author ids
+ * into a dictionary of case-folded usernames. Texts are stored back to back in
+ * one String, delimited by an offset column. Rows are in the order the tweets
+ * were added.
+ */
+public class TweetTable {
+
+    private final int size;
+    private final long[] ids;
+    private final long[] epochSeconds;
+    private final int[] nanos;
+    private final int[] authorIds;
+    private final String[] authors;
+    private final Map<String, Integer> authorIndex;
+    private final int[] spellingIds;
+    private final String[] spellings;
+    private final String texts;
+    private final int[] textOffsets;
+    /* Rep invariant:
+     *    ids, epochSeconds, authorIds, spellingIds have length >= size,
+     *      textOffsets has length >= size + 1, nanos is null or has length >= size
+     *    authors[authorIds[r]] equals spellings[spellingIds[r]] case-folded
+     *    authorIndex maps authors[a] to a, for every a
+     *    authors are distinct; spellings are distinct
+     *    textOffsets is nondecreasing, textOffsets[size] == texts.length()
+     * Abstraction function:
+     *    represents the list of tweets whose row r has id ids[r], author
+     *    spellings[spellingIds[r]], text texts[textOffsets[r]..textOffsets[r+1])
+     *    and timestamp epochSeconds[r] seconds plus nanos[r] (or 0) nanoseconds
+     * Safety from rep exposure:
+     *    all fields are private and never mutated after construction; the
+     *    package-private column accessors return the arrays themselves, and
+     *    callers in this package must not modify them
+     */
+
+    private TweetTable(Builder builder) {
+        this.size = builder.size;
+        this.ids = builder.ids;
+        this.epochSeconds = builder.epochSeconds;
+        this.nanos = builder.nanos;
+        this.authorIds = builder.authorIds;
+        this.authors = builder.authors.toArray(new String[0]);
+        this.authorIndex = builder.authorIndex;
+        this.spellingIds = builder.spellingIds;
+        this.spellings = builder.spellings.toArray(new String[0]);
+        this.texts = builder.texts.toString();
+        this.textOffsets = builder.textOffsets;
+    }
+
+    /**
+     * Make a table of tweets.
+     *
+     * @param tweets tweets to store, not modified by this method
+     * @return a table whose rows are tweets, in the same order
+     */
+    public static TweetTable of(List<Tweet> tweets) {
+        Builder builder = new Builder(tweets.size());
+        for (Tweet tweet : tweets) {
+            builder.add(tweet);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Make a table of tweets retrieved from a web server, without first
+     * making a list of them.
+     *
+     * @param url URL of server to retrieve tweets from
+     * @return a table of the tweets retrieved from the server
+     * @throws IOException if the url is invalid, the server is unreachable,
+     *                     or some other network-related error occurs.
+     */
+    public static TweetTable readFromWeb(URL url) throws IOException {
+        try (StreamingTweetReader reader = new StreamingTweetReader(
+                new InputStreamReader(url.openStream()))) {
+            return new Builder().addAll(reader).build();
+        }
+    }
+
+    /**
+     * @return number of rows in this table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param row row index, 0 <= row < size()
+     * @return id of the tweet in row
+     */
+    public long id(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    /**
+     * @param row row index, 0 <= row < size()
+     * @return timestamp of the tweet in row
+     */
+    public Instant timestamp(int row) {
+        checkRow(row);
+        return Instant.ofEpochSecond(epochSeconds[row], nanos == null ? 0 : nanos[row]);
+    }
+
+    /**
+     * @param row row index, 0 <= row < size()
+     * @return author of the tweet in row, spelled as in the original tweet
+     */
+    public String author(int row) {
+        checkRow(row);
+        return spellings[spellingIds[row]];
+    }
+
+    /**
+     * @param row row index, 0 <= row < size()
+     * @return text of the tweet in row
+     */
+    public String text(int row) {
+        checkRow(row);
+        return texts.substring(textOffsets[row], textOffsets[row + 1]);
+    }
+
+    /**
+     * @param row row index, 0 <= row < size()
+     * @return the tweet in row
+     */
+    public Tweet tweet(int row) {
+        return new Tweet(id(row), author(row), text(row), timestamp(row));
+    }
+
+    /**
+     * @param rows row indexes, each 0 <= row < size()
+     * @return the tweets in those rows, in the order of rows
+     */
+    public List<Tweet> tweets(int[] rows) {
+        List<Tweet> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(tweet(row));
+        }
+        return result;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+
+    /**
+     * @param username a Twitter username, in any case
+     * @return id of username in the author dictionary, or -1 if no tweet in
+     *         this table was written by username
+     */
+    int authorId(String username) {
+        Integer id = authorIndex.get(CaseFolding.foldCase(username));
+        return id == null ? -1 : id;
+    }
+
+    /** @return the case-folded username with dictionary id authorId */
+    String authorName(int authorId) {
+        return authors[authorId];
+    }
+
+    /** @return number of distinct case-folded authors */
+    int authorCount() {
+        return authors.length;
+    }
+
+    /** @return author id column; only the first size() entries are rows */
+    int[] authorIdColumn() {
+        return authorIds;
+    }
+
+    /** @return epoch-second column; only the first size() entries are rows */
+    long[] epochSecondColumn() {
+        return epochSeconds;
+    }
+
+    /** @return nanosecond column, or null if every timestamp is whole seconds */
+    int[] nanoColumn() {
+        return nanos;
+    }
+
+    /**
+     * Accumulates tweets into a new TweetTable.
+     */
+    public static class Builder {
+
+        private int size;
+        private long[] ids;
+        private long[] epochSeconds;
+        private int[] nanos;
+        private int[] authorIds;
+        private final List<String> authors = new ArrayList<>();
+        private final Map<String, Integer> authorIndex = new HashMap<>();
+        private int[] spellingIds;
+        private final List<String> spellings = new ArrayList<>();
+        private final Map<String, Integer> spellingIndex = new HashMap<>();
+        private final StringBuilder texts = new StringBuilder();
+        private int[] textOffsets;
+        private boolean built;
+
+        /**
+         * Make an empty builder.
+         */
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * Make an empty builder sized for about capacity tweets.
+         *
+         * @param capacity expected number of tweets, >= 0
+         */
+        public Builder(int capacity) {
+            int initial = Math.max(1, capacity);
+            ids = new long[initial];
+            epochSeconds = new long[initial];
+            authorIds = new int[initial];
+            spellingIds = new int[initial];
+            textOffsets = new int[initial + 1];
+        }
+
+        /**
+         * Append a tweet as the next row.
+         *
+         * @param tweet tweet to append
+         * @return this builder
+         * @throws IllegalStateException if build() has been called
+         */
+        public Builder add(Tweet tweet) {
+            if (built) {
+                throw new IllegalStateException("table already built");
+            }
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = tweet.getId();
+            Instant timestamp = tweet.getTimestamp();
+            epochSeconds[size] = timestamp.getEpochSecond();
+            if (timestamp.getNano() != 0 && nanos == null) {
+                nanos = new int[ids.length];
+            }
+            if (nanos != null) {
+                nanos[size] = timestamp.getNano();
+            }
+            authorIds[size] = intern(CaseFolding.foldCase(tweet.getAuthor()), authors, authorIndex);
+            spellingIds[size] = intern(tweet.getAuthor(), spellings, spellingIndex);
+            texts.append(tweet.getText());
+            textOffsets[size + 1] = texts.length();
+            size++;
+            return this;
+        }
+
+        /**
+         * Append each remaining tweet of an iterator, such as a
+         * StreamingTweetReader, as the next rows.
+         *
+         * @param tweets tweets to append; exhausted by this method
+         * @return this builder
+         */
+        public Builder addAll(Iterator<? extends Tweet> tweets) {
+            while (tweets.hasNext()) {
+                add(tweets.next());
+            }
+            return this;
+        }
+
+        /**
+         * @return a table of the tweets added so far. The builder cannot be
+         *         used after this call.
+         */
+        public TweetTable build() {
+            built = true;
+            return new TweetTable(this);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            if (nanos != null) {
+                nanos = Arrays.copyOf(nanos, capacity);
+            }
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            spellingIds = Arrays.copyOf(spellingIds, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity + 1);
+        }
+
+        private static int intern(String value, List<String> values, Map<String, Integer> index) {
+            Integer id = index.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                index.put(value, id);
+            }
+            return id;
+        }
+    }
+}
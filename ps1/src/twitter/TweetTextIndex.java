@@ -0,0 +1,166 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index from words to the tweets that contain them, answering
+ * Filter.containing queries without scanning every tweet.
+ *
+ * Words are the space-separated words of Filter.containing, case-folded. Each
+ * word maps to a postings list: the ascending positions of the tweets that
+ * contain it, stored in an IntList. Tweets can be appended at any
+ * time; appending a tweet only touches the postings of its own words.
+ *
+ * A TweetTextIndex is not thread-safe.
+ */
+public class TweetTextIndex {
+
+    private final List<Tweet> tweets = new ArrayList<>();
+    private final Map<String, IntList> index = new HashMap<>();
+    /* Rep invariant:
+     *    for every key w of index, index.get(w) holds, strictly ascending,
+     *    exactly the positions p such that tweets.get(p) has a word that
+     *    case-folds to w; every key is case-folded and has nonempty postings
+     * Abstraction function:
+     *    represents the list of tweets, indexed by word
+     * Safety from rep exposure:
+     *    all fields are private; queries return new lists and arrays
+     */
+
+    /**
+     * Make an empty index.
+     */
+    public TweetTextIndex() {}
+
+    /**
+     * Make an index of tweets.
+     *
+     * @param tweets tweets to index, in order; not modified by this method
+     * @return an index whose positions are the indexes of tweets
+     */
+    public static TweetTextIndex of(List<Tweet> tweets) {
+        TweetTextIndex index = new TweetTextIndex();
+        index.addAll(tweets);
+        return index;
+    }
+
+    /**
+     * Append a tweet at position size().
+     *
+     * @param tweet tweet to append
+     */
+    public void add(Tweet tweet) {
+        int position = tweets.size();
+        tweets.add(tweet);
+        WordMatcher.forEachWord(tweet.getText(), (text, start, end) -> {
+            String word = CaseFolding.foldCase(text.substring(start, end));
+            IntList postings = index.get(word);
+            if (postings == null) {
+                postings = new IntList();
+                index.put(word, postings);
+            }
+            if (postings.lastOr(-1) != position) { // word repeated within one tweet
+                postings.add(position);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Append tweets in order.
+     *
+     * @param tweets tweets to append, not modified by this method
+     */
+    public void addAll(List<Tweet> tweets) {
+        for (Tweet tweet : tweets) {
+            add(tweet);
+        }
+    }
+
+    /**
+     * @return number of tweets indexed
+     */
+    public int size() {
+        return tweets.size();
+    }
+
+    /**
+     * @param position position of an indexed tweet, 0 <= position < size()
+     * @return the tweet at position
+     */
+    public Tweet get(int position) {
+        return tweets.get(position);
+    }
+
+    /**
+     * @param words words to search for, as in Filter.containing
+     * @return an upper bound on the number of indexed tweets that contain at
+     *         least one of words: the total length of their postings
+     */
+    public int estimateContaining(List<String> words) {
+        long total = 0;
+        for (String word : words) {
+            IntList postings = index.get(CaseFolding.foldCase(word));
+            if (postings != null) {
+                total += postings.size();
+            }
+        }
+        return (int) Math.min(total, tweets.size());
+    }
+
+    /**
+     * @param words words to search for, as in Filter.containing
+     * @return ascending positions of the indexed tweets that contain at
+     *         least one of words
+     */
+    public int[] positionsContaining(List<String> words) {
+        List<IntList> matches = new ArrayList<>();
+        int total = 0;
+        for (String word : words) {
+            IntList postings = index.get(CaseFolding.foldCase(word));
+            if (postings != null) {
+                matches.add(postings);
+                total += postings.size();
+            }
+        }
+        if (matches.size() == 1) {
+            return matches.get(0).toArray();
+        }
+        int[] union = new int[total];
+        int offset = 0;
+        for (IntList postings : matches) {
+            postings.copyTo(union, offset);
+            offset += postings.size();
+        }
+        Arrays.sort(union);
+        int distinct = 0;
+        for (int i = 0; i < union.length; i++) {
+            if (distinct == 0 || union[i] != union[distinct - 1]) {
+                union[distinct++] = union[i];
+            }
+        }
+        return Arrays.copyOf(union, distinct);
+    }
+
+    /**
+     * @param words words to search for, as in Filter.containing
+     * @return the indexed tweets that contain at least one of words, in
+     *         position order; the same as Filter.containing over the indexed
+     *         tweets
+     */
+    public List<Tweet> containing(List<String> words) {
+        int[] positions = positionsContaining(words);
+        List<Tweet> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+}
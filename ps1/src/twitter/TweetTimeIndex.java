@@ -0,0 +1,224 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Immutable index of a list of tweets by timestamp, answering
+ * Filter.inTimespan queries in O(log n + k) time for k hits when k is at
+ * least a 64th of n, and O(log n + k log k) otherwise, instead of comparing
+ * every tweet.
+ *
+ * The index is a permutation of the list positions sorted by timestamp, kept
+ * alongside the sorted timestamps as epoch seconds and nanoseconds. A query
+ * binary-searches both ends of the timespan, then puts the positions in
+ * between back into list order: a few hits are sorted, and many are set in a
+ * bitmap of the list and read back in one pass over its n/64 words, which is
+ * linear in k when k is at least a 64th of n.
+ */
+public class TweetTimeIndex {
+
+    /**
+     * Hits are put back in list order through a bitmap, rather than sorted,
+     * when there are at least 1 / BITMAP_FRACTION as many hits as tweets.
+     */
+    private static final int BITMAP_FRACTION = 64;
+
+    private final List<Tweet> tweets;
+    private final int[] order;
+    private final long[] seconds;
+    private final int[] nanos;
+    /* Rep invariant:
+     *    order is a permutation of 0..tweets.size()-1
+     *    seconds[i], nanos[i] are the timestamp of tweets.get(order[i]), and
+     *    (seconds[i], nanos[i]) is nondecreasing in i
+     * Abstraction function:
+     *    represents the list tweets, ordered by timestamp through order
+     * Safety from rep exposure:
+     *    tweets is a private copy; queries return new lists and arrays
+     */
+
+    private TweetTimeIndex(List<Tweet> tweets) {
+        this.tweets = new ArrayList<>(tweets);
+        int n = this.tweets.size();
+        long[] unsortedSeconds = new long[n];
+        int[] unsortedNanos = new int[n];
+        for (int i = 0; i < n; i++) {
+            Instant timestamp = this.tweets.get(i).getTimestamp();
+            unsortedSeconds[i] = timestamp.getEpochSecond();
+            unsortedNanos[i] = timestamp.getNano();
+        }
+        this.order = sortedOrder(unsortedSeconds, unsortedNanos);
+        this.seconds = new long[n];
+        this.nanos = new int[n];
+        for (int i = 0; i < n; i++) {
+            seconds[i] = unsortedSeconds[order[i]];
+            nanos[i] = unsortedNanos[order[i]];
+        }
+    }
+
+    /**
+     * Make a time index of tweets.
+     *
+     * @param tweets tweets to index, not modified by this method
+     * @return an index whose positions are the indexes of tweets
+     */
+    public static TweetTimeIndex of(List<Tweet> tweets) {
+        return new TweetTimeIndex(tweets);
+    }
+
+    /**
+     * @return number of tweets indexed
+     */
+    public int size() {
+        return tweets.size();
+    }
+
+    /**
+     * @param timespan timespan, including its endpoints
+     * @return number of indexed tweets sent during timespan, found in
+     *         O(log n) time
+     */
+    public int countInTimespan(Timespan timespan) {
+        int from = lowerBound(timespan.getStart().getEpochSecond(), timespan.getStart().getNano(), false);
+        int to = lowerBound(timespan.getEnd().getEpochSecond(), timespan.getEnd().getNano(), true);
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * @param timespan timespan, including its endpoints
+     * @return ascending positions of the indexed tweets sent during timespan
+     */
+    public int[] positionsInTimespan(Timespan timespan) {
+        int from = lowerBound(timespan.getStart().getEpochSecond(), timespan.getStart().getNano(), false);
+        int to = lowerBound(timespan.getEnd().getEpochSecond(), timespan.getEnd().getNano(), true);
+        int k = Math.max(0, to - from);
+        if ((long) k * BITMAP_FRACTION < order.length) {
+            int[] positions = Arrays.copyOfRange(order, from, from + k);
+            Arrays.sort(positions);
+            return positions;
+        }
+        BitSet hits = new BitSet(order.length);
+        for (int i = from; i < to; i++) {
+            hits.set(order[i]);
+        }
+        int[] positions = new int[k];
+        int next = 0;
+        for (int position = hits.nextSetBit(0); position >= 0; position = hits.nextSetBit(position + 1)) {
+            positions[next++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * @param timespan timespan, including its endpoints
+     * @return the indexed tweets sent during timespan, in the same order as
+     *         in the indexed list; the same as Filter.inTimespan over it
+     */
+    public List<Tweet> inTimespan(Timespan timespan) {
+        int[] positions = positionsInTimespan(timespan);
+        List<Tweet> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(tweets.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Find the most recent indexed tweets satisfying a condition, walking the
+     * index backwards in time and stopping as soon as limit are found.
+     *
+     * @param condition condition to test
+     * @param limit maximum number of results, >= 0
+     * @return the min(limit, m) most recent of the m indexed tweets satisfying
+     *         condition, most recent first, and tweets with equal timestamps
+     *         in the same order as in the indexed list
+     * @throws IllegalArgumentException if limit < 0
+     */
+    List<Tweet> mostRecent(Predicate<Tweet> condition, int limit) {
+        LimitFilter.checkLimit(limit);
+        List<Tweet> result = new ArrayList<>(Math.min(limit, 16));
+        int hi = order.length;
+        while (hi > 0 && result.size() < limit) {
+            // order is stable, so a run of equal timestamps is in list order
+            int lo = hi - 1;
+            while (lo > 0 && compare(seconds[lo - 1], nanos[lo - 1], seconds[hi - 1], nanos[hi - 1]) == 0) {
+                lo--;
+            }
+            for (int i = lo; i < hi && result.size() < limit; i++) {
+                Tweet tweet = tweets.get(order[i]);
+                if (condition.test(tweet)) {
+                    result.add(tweet);
+                }
+            }
+            hi = lo;
+        }
+        return result;
+    }
+
+    /*
+     * @return the least i such that (seconds[i], nanos[i]) >= (second, nano),
+     *         or > (second, nano) if strict; size() if there is none
+     */
+    private int lowerBound(long second, int nano, boolean strict) {
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compare(seconds[mid], nanos[mid], second, nano);
+            if (c < 0 || (strict && c == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int compare(long secondA, int nanoA, long secondB, int nanoB) {
+        int c = Long.compare(secondA, secondB);
+        return c != 0 ? c : Integer.compare(nanoA, nanoB);
+    }
+
+    /*
+     * Stable merge sort of positions 0..n-1 by (seconds, nanos), on
+     * primitive arrays so that no position is boxed.
+     */
+    private static int[] sortedOrder(long[] seconds, int[] nanos) {
+        int n = seconds.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                int a = lo, b = mid, out = lo;
+                while (a < mid && b < hi) {
+                    if (compare(seconds[order[b]], nanos[order[b]], seconds[order[a]], nanos[order[a]]) < 0) {
+                        buffer[out++] = order[b++];
+                    } else {
+                        buffer[out++] = order[a++];
+                    }
+                }
+                while (a < mid) {
+                    buffer[out++] = order[a++];
+                }
+                while (b < hi) {
+                    buffer[out++] = order[b++];
+                }
+                System.arraycopy(buffer, lo, order, lo, hi - lo);
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,199 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Mutable follows graph over only the tweets sent within a sliding time
+ * window, such as the last 6 hours, for the SocialNetwork computations on
+ * recent activity.
+ *
+ * The window is (end - length, end], where end is the latest time the window
+ * has been advanced to, either explicitly or by adding a newer tweet. Tweets
+ * are kept in timestamp order in a deque, so that advancing the window evicts
+ * tweets from its head, removing their evidence from a FollowsGraph whose
+ * edges and follower counts are updated incrementally. Advancing the window
+ * therefore touches only the tweets that enter or leave it.
+ *
+ * Tweets normally arrive in timestamp order and are appended to the deque.
+ * A late tweet that is older than the deque's tail but still inside the
+ * window is held in a small timestamp-ordered heap instead, and eviction
+ * takes the older of the two heads.
+ *
+ * A WindowedFollowsGraph is not thread-safe.
+ */
+public class WindowedFollowsGraph {
+
+    private static final Comparator<Tweet> BY_TIMESTAMP = Comparator.comparing(Tweet::getTimestamp);
+
+    private final Duration length;
+    private final FollowsGraph graph = new FollowsGraph();
+    private final Deque<Tweet> inOrder = new ArrayDeque<>();
+    private final PriorityQueue<Tweet> late = new PriorityQueue<>(BY_TIMESTAMP);
+    private Instant end;
+    /* Rep invariant:
+     *    length is positive
+     *    inOrder is in nondecreasing timestamp order
+     *    every tweet in graph is in inOrder or late, and has timestamp
+     *    > end - length (end is null only if inOrder and late are empty)
+     *    inOrder and late may also hold tweets already removed from graph
+     * Abstraction function:
+     *    represents the follows graph of the tweets in graph, over the window
+     *    (end - length, end]
+     */
+
+    /**
+     * Make an empty windowed graph.
+     *
+     * @param length length of the window, positive
+     * @throws IllegalArgumentException if length is zero or negative
+     */
+    public WindowedFollowsGraph(Duration length) {
+        if (length.isZero() || length.isNegative()) {
+            throw new IllegalArgumentException("window length must be positive: " + length);
+        }
+        this.length = length;
+    }
+
+    /**
+     * Add a tweet. If it is newer than the window's end, the window first
+     * advances to its timestamp.
+     *
+     * @param tweet tweet to add
+     * @return true if the tweet was added; false if it is older than the
+     *         window, or a tweet with the same id is already in the window
+     */
+    public boolean addTweet(Tweet tweet) {
+        Instant timestamp = tweet.getTimestamp();
+        if (end == null || timestamp.isAfter(end)) {
+            advanceTo(timestamp);
+        } else if (!timestamp.isAfter(end.minus(length))) {
+            return false;
+        }
+        if (!graph.addTweet(tweet)) {
+            return false;
+        }
+        if (inOrder.isEmpty() || !timestamp.isBefore(inOrder.peekLast().getTimestamp())) {
+            inOrder.addLast(tweet);
+        } else {
+            late.add(tweet);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a tweet from the window, as for a deleted tweet. A removed tweet
+     * must not be added again while it would still be in the window.
+     *
+     * @param tweetId id of the tweet to remove
+     * @return true if the tweet was in the window
+     */
+    public boolean removeTweet(long tweetId) {
+        // the tweet stays queued, and is skipped when it is evicted
+        return graph.removeTweet(tweetId);
+    }
+
+    /**
+     * Advance the window so that it ends at now, evicting the tweets sent at
+     * or before now - length. Moving the end backwards has no effect.
+     *
+     * @param now new end of the window
+     */
+    public void advanceTo(Instant now) {
+        if (end != null && !now.isAfter(end)) {
+            return;
+        }
+        end = now;
+        Instant start = now.minus(length);
+        while (true) {
+            Tweet oldest = oldest();
+            if (oldest == null || oldest.getTimestamp().isAfter(start)) {
+                return;
+            }
+            if (oldest == inOrder.peekFirst()) {
+                inOrder.pollFirst();
+            } else {
+                late.poll();
+            }
+            graph.removeTweet(oldest.getId());
+        }
+    }
+
+    private Tweet oldest() {
+        Tweet first = inOrder.peekFirst();
+        Tweet earliestLate = late.peek();
+        if (first == null) {
+            return earliestLate;
+        }
+        if (earliestLate == null) {
+            return first;
+        }
+        return earliestLate.getTimestamp().isBefore(first.getTimestamp()) ? earliestLate : first;
+    }
+
+    /**
+     * @return length of the window
+     */
+    public Duration getLength() {
+        return length;
+    }
+
+    /**
+     * @return end of the window, or null if no tweet has been added and the
+     *         window has never been advanced
+     */
+    public Instant getEnd() {
+        return end;
+    }
+
+    /**
+     * @return number of tweets in the window
+     */
+    public int tweetCount() {
+        return graph.tweetCount();
+    }
+
+    /**
+     * @param username a username
+     * @return number of users who follow username, ignoring case, on the
+     *         evidence of the tweets in the window
+     */
+    public int followerCount(String username) {
+        return graph.followerCount(username);
+    }
+
+    /**
+     * @return an unmodifiable, live view of the follows graph of the tweets in
+     *         the window, as FollowsGraph.asMap() defines it
+     */
+    public Map<String, Set<String>> asMap() {
+        return graph.asMap();
+    }
+
+    /**
+     * @return the users followed by somebody on the evidence of the tweets in
+     *         the window, case-folded, in descending order of follower count;
+     *         the same as SocialNetwork.influencers(asMap()) up to the order
+     *         of users with equal counts
+     */
+    public List<String> influencers() {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>(graph.followerCounts().entrySet());
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        List<String> users = new ArrayList<>(counts.size());
+        for (Map.Entry<String, Integer> count : counts) {
+            users.add(count.getKey());
+        }
+        return users;
+    }
+}
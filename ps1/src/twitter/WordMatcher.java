@@ -0,0 +1,176 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable matcher for the word semantics of Filter.containing: a text
+ * matches if one of its words (nonempty runs of nonspace characters bounded
+ * by space characters and the ends of the text) is, ignoring case, one of the
+ * words the matcher was compiled from.
+ *
+ * The watch words are compiled once into a case-insensitive open-addressing
+ * hash set. Matching splits the text with forEachWord and probes the set with
+ * each word's folded hash, so it costs O(text length) however many watch
+ * words there are, and allocates nothing.
+ */
+public class WordMatcher {
+
+    private final String[] table;
+    private final int mask;
+    private final boolean empty;
+    private final WordVisitor probe = (text, start, end) -> !contains(text, start, end, foldedHash(text, start, end));
+    /* Rep invariant:
+     *    table.length is a power of two, mask == table.length - 1, and at
+     *    least half of table is null
+     *    each non-null table[i] is in the probe sequence of foldedHash(table[i])
+     *    before any null slot, and no two entries are equal ignoring case
+     *    empty iff every entry is null
+     * Abstraction function:
+     *    represents the set of words w (compared ignoring case) such that some
+     *    table[i] equalsIgnoreCase w
+     */
+
+    private WordMatcher(String[] table, boolean empty) {
+        this.table = table;
+        this.mask = table.length - 1;
+        this.empty = empty;
+    }
+
+    /**
+     * Compile a matcher.
+     *
+     * @param words words to match; each a nonempty sequence of nonspace
+     *              characters. Not modified by this method.
+     * @return a matcher for words
+     */
+    public static WordMatcher compile(List<String> words) {
+        int capacity = Integer.highestOneBit(Math.max(4, words.size() * 4 - 1));
+        String[] table = new String[capacity];
+        boolean empty = true;
+        for (String word : words) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            int slot = foldedHash(word, 0, word.length()) & (capacity - 1);
+            while (table[slot] != null && !equalsIgnoreCase(table[slot], word, 0, word.length())) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = word;
+            empty = false;
+        }
+        return new WordMatcher(table, empty);
+    }
+
+    /**
+     * @param text text to search; null matches nothing
+     * @return true iff some word of text is one of this matcher's words,
+     *         ignoring case
+     */
+    public boolean matches(String text) {
+        return !empty && !forEachWord(text, probe);
+    }
+
+    /**
+     * @param word a word
+     * @return true iff word is one of this matcher's words, ignoring case
+     */
+    public boolean containsWord(String word) {
+        return !word.isEmpty() && contains(word, 0, word.length(), foldedHash(word, 0, word.length()));
+    }
+
+    /*
+     * @param hash foldedHash(text, start, end)
+     */
+    private boolean contains(String text, int start, int end, int hash) {
+        int slot = hash & mask;
+        String candidate;
+        while ((candidate = table[slot]) != null) {
+            if (equalsIgnoreCase(candidate, text, start, end)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Receives the words of a text, as positions in the text.
+     */
+    interface WordVisitor {
+
+        /**
+         * @param text the text being split
+         * @param start index of the first character of the word
+         * @param end index just after the last character of the word
+         * @return true to go on to the next word, false to stop
+         */
+        boolean visit(String text, int start, int end);
+    }
+
+    /**
+     * Visit the words of a text in order, split as Filter.containing splits
+     * them: maximal nonempty runs of nonspace characters. Every index of
+     * words splits texts with this method.
+     *
+     * @param text text to split; null has no words
+     * @param visitor receives each word, repeats included
+     * @return false if visitor stopped early, true otherwise
+     */
+    static boolean forEachWord(String text, WordVisitor visitor) {
+        if (text == null) {
+            return true;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i > start && !visitor.visit(text, start, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Add the case-folded words of a text, as forEachWord splits them.
+     *
+     * @param text text to split; null has no words
+     * @param words receives each word, case-folded
+     */
+    static void addFoldedWords(String text, Collection<String> words) {
+        forEachWord(text, (t, start, end) -> {
+            words.add(CaseFolding.foldCase(t.substring(start, end)));
+            return true;
+        });
+    }
+
+    private static boolean equalsIgnoreCase(String word, String text, int start, int end) {
+        return word.length() == end - start && text.regionMatches(true, start, word, 0, word.length());
+    }
+
+    /*
+     * Hash of text[start..end) that is equal for strings equal ignoring case,
+     * in the sense of String.regionMatches(true, ...).
+     */
+    private static int foldedHash(String text, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + CaseFolding.foldCase(text.charAt(i));
+        }
+        return spread(hash);
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
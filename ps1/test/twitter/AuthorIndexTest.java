@@ -0,0 +1,82 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class AuthorIndexTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+    private static final Tweet tweet3 = new Tweet(3, "Alyssa", "anydf?", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for AuthorIndex
+     *
+     * Partition the inputs as follows:
+     *  username: absent, present once, present in several spellings
+     *  query case: same as tweets, different; ASCII, non-ASCII letters
+     *              whose cases equalsIgnoreCase relates but toLowerCase does not
+     *  tweets.size(): small, large (positions lists grow)
+     * Compare results with Filter.writtenBy over the same tweets.
+     */
+
+    // This test covers absent username
+    @Test
+    public void testAbsentAuthor() {
+        AuthorIndex index = AuthorIndex.of(Arrays.asList(tweet1, tweet2));
+
+        assertEquals("expected no positions", 0, index.positionsWrittenBy("xxx").length);
+        assertTrue("expected empty list", index.writtenBy("xxx").isEmpty());
+    }
+
+    // This test covers several spellings, different query case
+    @Test
+    public void testCaseInsensitive() {
+        AuthorIndex index = AuthorIndex.of(Arrays.asList(tweet1, tweet2, tweet3));
+
+        assertArrayEquals("expected positions", new int[] { 0, 2 }, index.positionsWrittenBy("ALYSSA"));
+        assertEquals("expected folded authors", new HashSet<>(Arrays.asList("alyssa", "bbitdiddle")), index.authors());
+    }
+
+    // This test covers non-ASCII query case
+    @Test
+    public void testFoldingAgreesWithEqualsIgnoreCase() {
+        // final sigma, sigma and capital sigma are equal ignoring case
+        Tweet lower = new Tweet(4, "\u03c3\u03bf\u03c6\u03bf\u03c2", "a", d1);
+        Tweet upper = new Tweet(5, "\u03a3\u039f\u03a6\u039f\u03a3", "b", d1);
+        List<Tweet> tweets = Arrays.asList(lower, tweet1, upper);
+        AuthorIndex index = AuthorIndex.of(tweets);
+
+        for (String query : Arrays.asList("\u03c3\u03bf\u03c6\u03bf\u03c3", "\u03a3\u03bf\u03c6\u03bf\u03c2")) {
+            assertEquals("expected same as Filter", Filter.writtenBy(tweets, query), index.writtenBy(query));
+        }
+        assertEquals("expected one folded author", 2, index.authors().size());
+    }
+
+    // This test covers large input
+    @Test
+    public void testMatchesFilter() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(5_000, 11);
+        AuthorIndex index = AuthorIndex.of(tweets);
+
+        for (String author : Arrays.asList("user0", "USER17", "user249", "nobody")) {
+            assertEquals("expected same as Filter", Filter.writtenBy(tweets, author), Filter.writtenBy(index, author));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Helpers shared by the benchmark programs in this package, and by the tests
+ * that use the same synthetic tweets.
+ * 
+ * Benchmarks are plain main programs rather than JUnit tests, so they are not
+ * run with the test suite. Run them with assertions disabled.
+ */
+class Benchmarks {
+
+    private static final String[] WORDS = {
+        "rivest", "talk", "in", "30", "minutes", "#hype", "is", "it", "reasonable",
+        "to", "about", "so", "much", "the", "and", "6.005", "java", "mit", "today", "great"
+    };
+
+    private Benchmarks() {}
+
+    /**
+     * Result of one measured run.
+     */
+    static class Measurement {
+        final long nanos;
+        final long allocatedBytes;
+
+        Measurement(long nanos, long allocatedBytes) {
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double perSecond(long count) {
+            return count * 1e9 / nanos;
+        }
+
+        double bytesPer(long count) {
+            return (double) allocatedBytes / count;
+        }
+    }
+
+    /**
+     * Run task on the current thread, measuring elapsed time and the bytes
+     * allocated by this thread (if the JVM supports allocation accounting,
+     * otherwise 0).
+     */
+    static <T> Measurement measure(Callable<T> task) throws Exception {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        T result = task.call();
+        long nanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        blackhole = result;
+        return new Measurement(nanos, allocated);
+    }
+
+    /**
+     * Run task warmups times unmeasured, then return the fastest of runs
+     * measured runs.
+     */
+    static <T> Measurement best(int warmups, int runs, Callable<T> task) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            measure(task);
+        }
+        Measurement best = null;
+        for (int i = 0; i < runs; i++) {
+            Measurement m = measure(task);
+            if (best == null || m.nanos < best.nanos) {
+                best = m;
+            }
+        }
+        return best;
+    }
+
+    /** Keeps benchmark results reachable so the JIT cannot discard the work. */
+    static volatile Object blackhole;
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Make count synthetic tweets with distinct ids, drawn deterministically
+     * from seed, written by about count/20 authors over one day, each
+     * mentioning up to two other authors.
+     */
+    static List<Tweet> syntheticTweets(int count, long seed) {
+        Random random = new Random(seed);
+        int authors = Math.max(1, count / 20);
+        Instant start = Instant.parse("2016-02-17T00:00:00Z");
+        List<Tweet> tweets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 4 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    text.append(' ');
+                }
+                if (random.nextInt(10) == 0) {
+                    text.append("@user").append(random.nextInt(authors));
+                } else {
+                    text.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            tweets.add(new Tweet(i + 1, "user" + random.nextInt(authors), text.toString(),
+                    start.plusSeconds(random.nextInt(86400))));
+        }
+        return tweets;
+    }
+
+    /**
+     * The follows graph that FollowsGraph and WindowedFollowsGraph maintain,
+     * computed from scratch: SocialNetwork.guessFollowsGraph(tweets) with
+     * usernames case-folded, without self-follows or users who follow nobody.
+     */
+    static Map<String, Set<String>> foldedFollowsGraph(List<Tweet> tweets) {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : SocialNetwork.guessFollowsGraph(tweets).entrySet()) {
+            String follower = CaseFolding.foldCase(entry.getKey());
+            Set<String> followees = new HashSet<>(entry.getValue());
+            followees.remove(follower);
+            if (!followees.isEmpty()) {
+                graph.computeIfAbsent(follower, key -> new HashSet<>()).addAll(followees);
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the retained heap size of the follows graph in map form and in
+ * CompactFollowsGraph form, and the time to find the top 10 influencers in
+ * each. Retained sizes are differences in used heap after a full GC, each
+ * including the username strings of its form, so run with a heap large
+ * enough to hold both forms, e.g. -Xmx2g.
+ * 
+ * Usage: CompactFollowsGraphBenchmark [tweetCount]
+ */
+public class CompactFollowsGraphBenchmark {
+
+    private static final int K = 10;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        long base = usedHeap();
+        Map<String, Set<String>> built = SocialNetwork.guessFollowsGraph(Benchmarks.syntheticTweets(count, 6005));
+        long mapBytes = usedHeap() - base;
+        CompactFollowsGraph compact = CompactFollowsGraph.of(built);
+        // the compact form shares its username strings with the map, so drop
+        // the map before measuring, for both sizes to include string storage
+        built = null;
+        long compactBytes = usedHeap() - base;
+        Map<String, Set<String>> map = compact.toMap();
+        int edges = compact.edgeCount();
+        System.out.println("users: " + compact.userCount() + ", edges: " + edges);
+        System.out.println(String.format("  %-32s %12.1f bytes/edge", "map form", (double) mapBytes / edges));
+        System.out.println(String.format("  %-32s %12.1f bytes/edge", "CompactFollowsGraph", (double) compactBytes / edges));
+
+        report("influencers(map, 10)", edges, Benchmarks.best(2, 5, () -> SocialNetwork.influencers(map, K)));
+        report("influencers(compact, 10)", edges, Benchmarks.best(2, 5, () -> compact.influencers(K)));
+        report("CompactFollowsGraph.of", edges, Benchmarks.best(2, 5, () -> CompactFollowsGraph.of(map)));
+        report("toMap", edges, Benchmarks.best(2, 5, () -> compact.toMap()));
+        Benchmarks.blackhole = new Object[] { map, compact };
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(String name, int edges, Benchmarks.Measurement m) {
+        System.out.println(String.format("  %-32s %12.0f edges/s %10.1f ms", name, m.perSecond(edges), m.nanos / 1e6));
+    }
+}
@@ -0,0 +1,200 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class CompactFollowsGraphTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for CompactFollowsGraph
+     *
+     * Partition the inputs as follows:
+     *  graph: empty, nonempty
+     *  key: follows nobody (empty set), follows somebody
+     *  user: key only, followed only, both, absent
+     *  username case: as in the map, different; spelled one way or two ways
+     *    in the map (as keys, as followees of one key)
+     *  influencers k: 0, < followed users, >= followed users, < 0
+     *  graph source: hand-made map, guessFollowsGraph of many tweets
+     */
+
+    // This test covers empty graph, absent user, k >= followed users
+    @Test
+    public void testEmpty() {
+        CompactFollowsGraph graph = CompactFollowsGraph.of(new HashMap<String, Set<String>>());
+
+        assertEquals("expected no users", 0, graph.userCount());
+        assertEquals("expected no edges", 0, graph.edgeCount());
+        assertEquals("expected empty map", Collections.emptyMap(), graph.toMap());
+        assertEquals("expected no followers", Collections.emptyList(), graph.followers("ernie"));
+        assertEquals("expected nobody", Collections.emptyList(), graph.influencers(10));
+    }
+
+    // This test covers nonempty graph, both key kinds, every kind of user
+    @Test
+    public void testRoundTripAndLookups() {
+        Map<String, Set<String>> map = new HashMap<>();
+        map.put("alyssa", new HashSet<>(Arrays.asList("ernie", "bert")));
+        map.put("bert", new HashSet<>(Arrays.asList("ernie")));
+        map.put("csdg", new HashSet<String>());
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+
+        assertEquals("expected same map", map, graph.toMap());
+        assertEquals("expected users", 4, graph.userCount());
+        assertEquals("expected edges", 3, graph.edgeCount());
+        assertTrue("expected edge", graph.follows("alyssa", "bert"));
+        assertFalse("expected no reverse edge", graph.follows("bert", "alyssa"));
+        assertFalse("expected no edge from absent user", graph.follows("grover", "ernie"));
+        assertEquals("expected followees in order", Arrays.asList("bert", "ernie"), graph.following("alyssa"));
+        assertEquals("expected followers in order", Arrays.asList("alyssa", "bert"), graph.followers("ernie"));
+        assertEquals("expected follower count", 2, graph.followerCount("ernie"));
+        assertEquals("expected no followers of a key only", 0, graph.followerCount("csdg"));
+        assertEquals("expected none for absent user", 0, graph.followerCount("grover"));
+        assertEquals("expected nobody followed", Collections.emptyList(), graph.following("ernie"));
+    }
+
+    // This test covers username case different from the map, a user spelled
+    // two ways in the map
+    @Test
+    public void testLookupsIgnoreCase() {
+        Map<String, Set<String>> map = new HashMap<>();
+        map.put("Alyssa", new HashSet<>(Arrays.asList("Ernie", "bert")));
+        map.put("BERT", new HashSet<>(Arrays.asList("Ernie")));
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+
+        assertEquals("expected one id per user", 3, graph.userCount());
+        assertTrue("expected edge", graph.follows("alyssa", "BERT"));
+        assertTrue("expected edge", graph.follows("bErT", "ernie"));
+        assertFalse("expected no reverse edge", graph.follows("ERNIE", "bert"));
+        assertEquals("expected followees in order, spelled as keys", Arrays.asList("BERT", "Ernie"),
+                graph.following("ALYSSA"));
+        assertEquals("expected followers in order", Arrays.asList("Alyssa", "BERT"), graph.followers("ernie"));
+        assertEquals("expected follower count", 1, graph.followerCount("Bert"));
+        Map<String, Set<String>> expected = new HashMap<>();
+        expected.put("Alyssa", new HashSet<>(Arrays.asList("Ernie", "BERT")));
+        expected.put("BERT", new HashSet<>(Arrays.asList("Ernie")));
+        assertEquals("expected one spelling per user", expected, graph.toMap());
+        assertEquals("expected same as map form", SocialNetwork.influencers(graph.toMap(), 10), graph.influencers(10));
+    }
+
+    // This test covers users spelled two ways in the map, as keys and as
+    // followees of one key
+    @Test
+    public void testSpellingsMerged() {
+        Map<String, Set<String>> map = new HashMap<>();
+        map.put("Alice", new HashSet<>(Arrays.asList("bob", "carol")));
+        map.put("alice", new HashSet<>(Arrays.asList("bob", "dave")));
+        map.put("zed", new HashSet<>(Arrays.asList("Bob", "bob")));
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+
+        assertEquals("expected one id per user", 5, graph.userCount());
+        assertEquals("expected merged edges", 4, graph.edgeCount());
+        assertEquals("expected union of rows", Arrays.asList("bob", "carol", "dave"), graph.following("ALICE"));
+        assertEquals("expected each follower once", 2, graph.followerCount("bob"));
+        assertEquals("expected each follower once", 2, graph.followers("BOB").size());
+        assertEquals("expected bob first", "bob", graph.influencers(1).get(0).toLowerCase());
+        int mapEdges = 0;
+        for (Set<String> follows : graph.toMap().values()) {
+            mapEdges += follows.size();
+        }
+        assertEquals("expected same edges in map form", graph.edgeCount(), mapEdges);
+    }
+
+    // This test covers guessFollowsGraph of tweets whose authors differ only
+    // in case, compared with the case-folded map form
+    @Test
+    public void testAuthorsDifferingInCase() {
+        Random random = new Random(25);
+        Instant time = Instant.parse("2016-02-17T10:00:00Z");
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String author = (random.nextBoolean() ? "User" : "user") + random.nextInt(30);
+            tweets.add(new Tweet(i, author, "hi @user" + random.nextInt(40) + " and @USER" + random.nextInt(40), time));
+        }
+        Map<String, Set<String>> map = SocialNetwork.guessFollowsGraph(tweets);
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+        Map<String, Set<String>> folded = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : map.entrySet()) {
+            Set<String> follows = folded.computeIfAbsent(entry.getKey().toLowerCase(), key -> new HashSet<>());
+            for (String followed : entry.getValue()) {
+                follows.add(followed.toLowerCase());
+            }
+        }
+
+        int edges = 0;
+        for (Map.Entry<String, Set<String>> entry : folded.entrySet()) {
+            edges += entry.getValue().size();
+            Set<String> following = new HashSet<>();
+            for (String followed : graph.following(entry.getKey().toUpperCase())) {
+                following.add(followed.toLowerCase());
+            }
+            assertEquals("expected followees of " + entry.getKey(), entry.getValue(), following);
+        }
+        assertEquals("expected folded edges", edges, graph.edgeCount());
+        assertEquals("expected same as map form", SocialNetwork.influencers(graph.toMap(), 10), graph.influencers(10));
+    }
+
+    // This test covers k = 0, k < followed users, k >= followed users
+    @Test
+    public void testInfluencers() {
+        Map<String, Set<String>> map = new HashMap<>();
+        map.put("alyssa", new HashSet<>(Arrays.asList("ernie", "bert")));
+        map.put("bbitdiddle", new HashSet<>(Arrays.asList("ernie", "grover")));
+        map.put("csdg", new HashSet<>(Arrays.asList("ernie")));
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+
+        assertEquals("expected nobody", Collections.emptyList(), graph.influencers(0));
+        assertEquals("expected top 2", Arrays.asList("ernie", "bert"), SocialNetwork.influencers(graph, 2));
+        assertEquals("expected all", Arrays.asList("ernie", "bert", "grover"), graph.influencers(10));
+    }
+
+    // This test covers k < 0
+    @Test(expected=IllegalArgumentException.class)
+    public void testInfluencersNegativeK() {
+        CompactFollowsGraph.of(new HashMap<String, Set<String>>()).influencers(-1);
+    }
+
+    // This test covers graph from guessFollowsGraph, compared with the map form
+    @Test
+    public void testMatchesMapForm() {
+        Random random = new Random(6005);
+        Instant time = Instant.parse("2016-02-17T10:00:00Z");
+        List<Tweet> tweets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String text = "hi @user" + random.nextInt(60) + " and @User" + random.nextInt(60);
+            tweets.add(new Tweet(i, "user" + random.nextInt(50), text, time));
+        }
+        Map<String, Set<String>> map = SocialNetwork.guessFollowsGraph(tweets);
+        CompactFollowsGraph graph = CompactFollowsGraph.of(map);
+
+        assertEquals("expected same map", map, graph.toMap());
+        for (int k = 0; k <= 60; k += 7) {
+            assertEquals("expected top " + k, SocialNetwork.influencers(map, k), graph.influencers(k));
+        }
+        for (Map.Entry<String, Set<String>> entry : map.entrySet()) {
+            for (String followed : entry.getValue()) {
+                assertTrue("expected follower listed", graph.followers(followed).contains(entry.getKey()));
+            }
+        }
+    }
+}
@@ -33,6 +33,7 @@ public class ExtractTest {
     private static final Tweet tweet6 = new Tweet(6, "skdjfal", "I like @haha and @HAHA", d2);
     private static final Tweet tweet7 = new Tweet(7, "skdjfal", "I like @haha and @Hellen", d2);
     private static final Tweet tweet8 = new Tweet(8, "unex", "RT @Ekitipikin: We got lots of ", d3);
+    private static final Tweet tweet9 = new Tweet(9, "skdjfal", "(@Bert_1-x),@ernie!", d2);
 
     @Test(expected=AssertionError.class)
     public void testAssertionsEnabled() {
@@ -179,4 +180,12 @@ public class ExtractTest {
 
         assertTrue(mentionedUsers.contains("ekitipikin"));
     }
+
+    // This test covers mentions preceded and followed by punctuation rather than spaces
+    @Test
+    public void punctuationBoundedGetMentionedUsersTest() {
+        Set<String> mentionedUsers = Extract.getMentionedUsers(Arrays.asList(tweet9));
+
+        assertEquals("expected both users", new HashSet<>(Arrays.asList("bert_1-x", "ernie")), mentionedUsers);
+    }
 }
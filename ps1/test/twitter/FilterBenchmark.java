@@ -0,0 +1,60 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Compares the sequential Filter methods with their parallel variants on
+ * pools of 1 to 32 workers, reporting tweets/sec and speedup over the
+ * sequential method. Pools larger than the number of available processors
+ * are still measured, but cannot be expected to speed up further.
+ * 
+ * Usage: FilterBenchmark [tweetCount]
+ */
+public class FilterBenchmark {
+
+    private static final int[] WORKERS = { 1, 2, 4, 8, 16, 32 };
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        List<Tweet> tweets = Benchmarks.syntheticTweets(count, 6005);
+        Timespan morning = new Timespan(
+                Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+        List<String> words = Arrays.asList("rivest", "6.005", "obama");
+        System.out.println("tweets: " + count + ", processors: " + Runtime.getRuntime().availableProcessors()
+                + ", parallel threshold: " + ParallelFilter.threshold(ForkJoinPool.commonPool()));
+
+        compare("writtenBy", count, () -> Filter.writtenBy(tweets, "user42"),
+                pool -> Filter.writtenByParallel(tweets, "user42", pool));
+        compare("inTimespan", count, () -> Filter.inTimespan(tweets, morning),
+                pool -> Filter.inTimespanParallel(tweets, morning, pool));
+        compare("containing", count, () -> Filter.containing(tweets, words),
+                pool -> Filter.containingParallel(tweets, words, pool));
+    }
+
+    /*
+     * Measure a sequential filter, then its parallel variant on each pool size.
+     */
+    private static void compare(String name, int count, Callable<List<Tweet>> sequential,
+            Function<ForkJoinPool, List<Tweet>> parallel) throws Exception {
+        double baseline = Benchmarks.best(2, 5, sequential).perSecond(count);
+        System.out.println(String.format("%-28s %12.0f tweets/s", name, baseline));
+        for (int workers : WORKERS) {
+            ForkJoinPool pool = new ForkJoinPool(workers);
+            try {
+                double rate = Benchmarks.best(2, 5, () -> parallel.apply(pool)).perSecond(count);
+                System.out.println(String.format("%-28s %12.0f tweets/s %6.2fx",
+                        name + "Parallel (" + workers + ")", rate, rate / baseline));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
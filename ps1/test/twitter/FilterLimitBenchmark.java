@@ -0,0 +1,46 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures query latency of the unlimited Filter methods against their
+ * limit-aware variants as the corpus grows. The first-k variants and the
+ * indexed most-recent variant should stay flat while the unlimited methods
+ * and the heap-based most-recent variant grow with the corpus.
+ * 
+ * "writtenBy, limit" shows the worst case: each synthetic author writes
+ * about 20 tweets, fewer than the default limit, so it never stops early.
+ * 
+ * Usage: FilterLimitBenchmark [limit]
+ */
+public class FilterLimitBenchmark {
+
+    private static final int[] CORPUS_SIZES = { 10_000, 100_000, 1_000_000, 4_000_000 };
+
+    public static void main(String[] args) throws Exception {
+        int limit = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        List<String> words = Arrays.asList("rivest", "6.005");
+        System.out.println(String.format("%-32s %12s", "query (limit " + limit + ")", "microseconds"));
+        for (int size : CORPUS_SIZES) {
+            List<Tweet> tweets = Benchmarks.syntheticTweets(size, 6005);
+            TweetTimeIndex index = TweetTimeIndex.of(tweets);
+            System.out.println("corpus: " + size + " tweets");
+
+            report("containing", Benchmarks.best(2, 5, () -> Filter.containing(tweets, words)));
+            report("containing, limit", Benchmarks.best(2, 5, () -> Filter.containing(tweets, words, limit)));
+            report("writtenBy, limit", Benchmarks.best(2, 5, () -> Filter.writtenBy(tweets, "user1", limit)));
+            report("mostRecentContaining, heap", Benchmarks.best(2, 5,
+                    () -> Filter.mostRecentContaining(tweets, words, limit)));
+            report("mostRecentContaining, index", Benchmarks.best(2, 5,
+                    () -> Filter.mostRecentContaining(index, words, limit)));
+        }
+    }
+
+    private static void report(String name, Benchmarks.Measurement m) {
+        System.out.println(String.format("  %-30s %12.1f", name, m.nanos / 1e3));
+    }
+}
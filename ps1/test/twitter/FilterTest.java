@@ -109,6 +109,14 @@ public class FilterTest {
         assertEquals("expected same order", 0, inTimespan.indexOf(tweet1));
     }
 
+    //this test covers result.length()>1, timespan endpoints equal to tweet timestamps
+    @Test
+    public void testInTimespanIncludesEndpoints() {
+        List<Tweet> inTimespan = Filter.inTimespan(Arrays.asList(tweet1, tweet2, tweet3), new Timespan(d1, d2));
+
+        assertEquals("expected all tweets in order", Arrays.asList(tweet1, tweet2, tweet3), inTimespan);
+    }
+
     /*
      * Testing strategy for Filter.containing
      *
@@ -174,6 +182,14 @@ public class FilterTest {
         assertEquals("expected same order", 0, containing.indexOf(tweet1));
     }
 
+    //this test covers words.length==1, word only a substring of tweet words, result.length()=0
+    @Test
+    public void testContainingSubstringIsNotWord() {
+        List<Tweet> containing = Filter.containing(Arrays.asList(tweet1, tweet2), Arrays.asList("rive"));
+
+        assertTrue("expected empty list", containing.isEmpty());
+    }
+
     /*
      * Warning: all the tests you write here must be runnable against any Filter
      * class that follows the spec. It will be run against several staff
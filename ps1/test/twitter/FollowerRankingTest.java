@@ -0,0 +1,167 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class FollowerRankingTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for FollowerRanking
+     *
+     * Partition the inputs as follows:
+     *  count change: 0 -> 1, up within a group of ties, down, 1 -> 0
+     *  decrement: user with followers, user without
+     *  top(k): k = 0, k < size(), k = size(), k > size(); k-th user ties with
+     *          the (k+1)-th or not
+     *  sequence: random increments and decrements, compared with a recount
+     */
+
+    // This test covers 0 -> 1, up within ties, k < size() splitting a tie
+    @Test
+    public void testIncrementRanksAndBreaksTiesAlphabetically() {
+        FollowerRanking ranking = new FollowerRanking();
+        ranking.increment("ernie");
+        ranking.increment("bert");
+        ranking.increment("alyssa");
+        assertEquals("expected ties alphabetical", Arrays.asList("alyssa", "bert"), ranking.top(2));
+
+        assertEquals("expected new count", 2, ranking.increment("ernie"));
+        assertEquals("expected leader first", Arrays.asList("ernie", "alyssa"), ranking.top(2));
+        assertEquals("expected count", 1, ranking.count("bert"));
+        assertEquals("expected unknown user to have none", 0, ranking.count("grover"));
+    }
+
+    // This test covers down, 1 -> 0, k = 0, k = size(), k > size()
+    @Test
+    public void testDecrementDropsUsersWithNoFollowers() {
+        FollowerRanking ranking = new FollowerRanking();
+        ranking.increment("ernie");
+        ranking.increment("ernie");
+        ranking.increment("bert");
+
+        assertEquals("expected new count", 1, ranking.decrement("ernie"));
+        assertEquals("expected tie", Arrays.asList("bert", "ernie"), ranking.top(2));
+        assertEquals("expected new count", 0, ranking.decrement("bert"));
+        assertEquals("expected size", 1, ranking.size());
+        assertEquals("expected zero counts omitted", Arrays.asList("ernie"), ranking.top(10));
+        assertEquals("expected nobody", Collections.emptyList(), ranking.top(0));
+    }
+
+    // This test covers decrement of a user without followers
+    @Test(expected=IllegalArgumentException.class)
+    public void testDecrementWithoutFollowers() {
+        FollowerRanking ranking = new FollowerRanking();
+        ranking.increment("ernie");
+        ranking.decrement("ernie");
+        ranking.decrement("ernie");
+    }
+
+    // This test covers random sequences, every k
+    @Test
+    public void testRandomUpdatesMatchRecount() {
+        Random random = new Random(6031);
+        FollowerRanking ranking = new FollowerRanking();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 2000; step++) {
+            String user = "user" + random.nextInt(40);
+            if (random.nextInt(3) == 0 && expected.containsKey(user)) {
+                ranking.decrement(user);
+                expected.computeIfPresent(user, (key, count) -> count == 1 ? null : count - 1);
+            } else {
+                ranking.increment(user);
+                expected.merge(user, 1, Integer::sum);
+            }
+        }
+        List<String> all = rank(expected);
+        assertEquals("expected size", all.size(), ranking.size());
+        for (int k = 0; k <= all.size() + 1; k++) {
+            assertEquals("expected top " + k, all.subList(0, Math.min(k, all.size())), ranking.top(k));
+        }
+    }
+
+    /*
+     * Testing strategy for SocialNetwork.influencers(followsGraph, k)
+     *
+     * Partition the inputs as follows:
+     *  followsGraph: empty, nonempty
+     *  k: 0, < number of followed users, >= number of followed users, < 0
+     */
+
+    // This test covers empty graph, k >= number of followed users
+    @Test
+    public void testInfluencersEmptyGraph() {
+        assertEquals("expected nobody", Collections.emptyList(),
+                SocialNetwork.influencers(new HashMap<String, Set<String>>(), 10));
+    }
+
+    // This test covers nonempty graph, k = 0, k < and >= number of followed users
+    @Test
+    public void testInfluencersTopK() {
+        Map<String, Set<String>> graph = new HashMap<>();
+        graph.put("alyssa", new HashSet<>(Arrays.asList("ernie", "bert")));
+        graph.put("bbitdiddle", new HashSet<>(Arrays.asList("ernie", "grover")));
+        graph.put("csdg", new HashSet<>(Arrays.asList("ernie")));
+
+        assertEquals("expected nobody", Collections.emptyList(), SocialNetwork.influencers(graph, 0));
+        assertEquals("expected top 2", Arrays.asList("ernie", "bert"), SocialNetwork.influencers(graph, 2));
+        assertEquals("expected all", Arrays.asList("ernie", "bert", "grover"), SocialNetwork.influencers(graph, 10));
+    }
+
+    // This test covers k < 0
+    @Test(expected=IllegalArgumentException.class)
+    public void testInfluencersNegativeK() {
+        SocialNetwork.influencers(new HashMap<String, Set<String>>(), -1);
+    }
+
+    // This test covers nonempty graph, every k, compared with FollowerRanking
+    @Test
+    public void testInfluencersMatchesRanking() {
+        Random random = new Random(6005);
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (int a = 0; a < 60; a++) {
+            Set<String> follows = new HashSet<>();
+            for (int m = random.nextInt(8); m > 0; m--) {
+                follows.add("user" + random.nextInt(30));
+            }
+            follows.remove("user" + a);
+            graph.put("user" + a, follows);
+        }
+        FollowerRanking ranking = FollowerRanking.of(graph);
+        List<String> all = SocialNetwork.influencers(graph);
+        assertEquals("expected every followed user", ranking.size(), all.size());
+        for (int k = 0; k <= all.size(); k++) {
+            assertEquals("expected top " + k, ranking.top(k), SocialNetwork.influencers(graph, k));
+        }
+    }
+
+    /*
+     * Users with a positive count, in descending order of count, ties
+     * broken alphabetically.
+     */
+    private static List<String> rank(Map<String, Integer> counts) {
+        List<String> users = new ArrayList<>(counts.keySet());
+        users.sort((a, b) -> counts.get(a).equals(counts.get(b))
+                ? a.compareTo(b)
+                : Integer.compare(counts.get(b), counts.get(a)));
+        return users;
+    }
+}
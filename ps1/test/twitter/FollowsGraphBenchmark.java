@@ -0,0 +1,55 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares building the follows graph by one Filter.writtenBy scan per
+ * author with the single-pass FollowsGraphBuilder, sequentially and in
+ * parallel, as the corpus grows. The builder's tweets/s should stay roughly
+ * constant (linear scaling), while the per-author scan slows down in
+ * proportion to the number of authors; it is only run on the smaller corpora.
+ * 
+ * Usage: FollowsGraphBenchmark [largestTweetCount]
+ */
+public class FollowsGraphBenchmark {
+
+    private static final int PER_AUTHOR_LIMIT = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        int largest = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        System.out.println("processors: " + Runtime.getRuntime().availableProcessors());
+        for (int count = largest / 256; count <= largest; count *= 4) {
+            List<Tweet> tweets = Benchmarks.syntheticTweets(count, 6005);
+            System.out.println("tweets: " + count);
+            if (count <= PER_AUTHOR_LIMIT) {
+                report("per-author Filter scan", count, Benchmarks.best(1, 3, () -> perAuthorScan(tweets)));
+            }
+            report("FollowsGraphBuilder", count, Benchmarks.best(2, 5, () -> FollowsGraphBuilder.of(tweets)));
+            report("FollowsGraphBuilder, parallel", count,
+                    Benchmarks.best(2, 5, () -> FollowsGraphBuilder.ofParallel(tweets)));
+        }
+    }
+
+    /*
+     * The original guessFollowsGraph: one scan of the list per author.
+     */
+    private static Map<String, Set<String>> perAuthorScan(List<Tweet> tweets) {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (Tweet tweet : tweets) {
+            if (!graph.containsKey(tweet.getAuthor())) {
+                graph.put(tweet.getAuthor(), Extract.getMentionedUsers(Filter.writtenBy(tweets, tweet.getAuthor())));
+            }
+        }
+        return graph;
+    }
+
+    private static void report(String name, int count, Benchmarks.Measurement m) {
+        System.out.println(String.format("  %-32s %12.0f tweets/s %10.1f ms", name, m.perSecond(count), m.nanos / 1e6));
+    }
+}
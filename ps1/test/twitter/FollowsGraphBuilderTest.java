@@ -0,0 +1,100 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class FollowsGraphBuilderTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "talk with @BBitdiddle and @alyssa", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+    private static final Tweet tweet3 = new Tweet(3, "Alyssa", "see you @ben", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for FollowsGraphBuilder
+     *
+     * Partition the inputs as follows:
+     *  tweets.size(): 0, small, large
+     *  author spellings: one, several differing in case
+     *  mentions: none, of others, of self
+     *  building: sequential, combined partial builders, parallel
+     * Compare results with the per-author definition of
+     * SocialNetwork.guessFollowsGraph: every spelling maps to the mentions of
+     * Filter.writtenBy(tweets, spelling).
+     */
+
+    // This test covers size 0
+    @Test
+    public void testEmpty() {
+        assertTrue("expected empty graph", FollowsGraphBuilder.of(new ArrayList<Tweet>()).isEmpty());
+        assertTrue("expected empty graph", FollowsGraphBuilder.ofParallel(new ArrayList<Tweet>()).isEmpty());
+    }
+
+    // This test covers several spellings, mentions of others and of self, no mentions
+    @Test
+    public void testSpellingsShareMentions() {
+        Map<String, Set<String>> graph = FollowsGraphBuilder.of(Arrays.asList(tweet1, tweet2, tweet3));
+        Set<String> alyssa = new HashSet<>(Arrays.asList("bbitdiddle", "alyssa", "ben"));
+
+        assertEquals("expected one key per spelling", new HashSet<>(Arrays.asList("alyssa", "Alyssa", "bbitdiddle")),
+                graph.keySet());
+        assertEquals("expected mentions of both spellings", alyssa, graph.get("alyssa"));
+        assertEquals("expected mentions of both spellings", alyssa, graph.get("Alyssa"));
+        assertTrue("expected no mentions", graph.get("bbitdiddle").isEmpty());
+        assertEquals("expected same as per-author definition", perAuthor(Arrays.asList(tweet1, tweet2, tweet3)), graph);
+    }
+
+    // This test covers combined partial builders
+    @Test
+    public void testCombine() {
+        FollowsGraphBuilder left = new FollowsGraphBuilder();
+        left.accept(tweet1);
+        FollowsGraphBuilder right = new FollowsGraphBuilder();
+        right.accept(tweet2);
+        right.accept(tweet3);
+
+        assertEquals("expected same as one builder", FollowsGraphBuilder.of(Arrays.asList(tweet1, tweet2, tweet3)),
+                left.combine(right).build());
+    }
+
+    // This test covers large size, sequential and parallel
+    @Test
+    public void testLargeMatchesDefinition() {
+        List<Tweet> tweets = new ArrayList<>(Benchmarks.syntheticTweets(20_000, 21));
+        tweets.add(new Tweet(30_001, "USER5", "hi @user6", d1));
+        Map<String, Set<String>> expected = perAuthor(tweets);
+
+        assertEquals("expected same as per-author definition", expected, FollowsGraphBuilder.of(tweets));
+        assertEquals("expected same as per-author definition", expected, FollowsGraphBuilder.ofParallel(tweets));
+        assertEquals("expected same as sequential", expected, SocialNetwork.guessFollowsGraphParallel(tweets));
+    }
+
+    private static Map<String, Set<String>> perAuthor(List<Tweet> tweets) {
+        Map<String, Set<String>> graph = new HashMap<>();
+        for (Tweet tweet : tweets) {
+            if (!graph.containsKey(tweet.getAuthor())) {
+                graph.put(tweet.getAuthor(), Extract.getMentionedUsers(Filter.writtenBy(tweets, tweet.getAuthor())));
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,116 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class FollowsGraphTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "talk with @BBitdiddle and @alyssa", d1);
+    private static final Tweet tweet2 = new Tweet(2, "Alyssa", "again @bbitdiddle @bbitdiddle", d1);
+    private static final Tweet tweet3 = new Tweet(3, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for FollowsGraph
+     *
+     * Partition the inputs as follows:
+     *  evidence count of an edge: 0 -> 1, 1 -> 2, 2 -> 1, 1 -> 0
+     *  tweet mentions: none, self, others, same user repeated
+     *  author spellings: one, several differing in case
+     *  addTweet: new id, duplicate id
+     *  removeTweet: present id, absent id
+     *  sequence: random adds and removes, compared with a rebuild
+     */
+
+    // This test covers 0 -> 1, self and repeated mentions, several spellings
+    @Test
+    public void testEdgeAppears() {
+        FollowsGraph graph = new FollowsGraph();
+        Map<String, Set<String>> view = graph.asMap();
+
+        assertTrue("expected added", graph.addTweet(tweet1));
+        assertEquals("expected edge", Collections.singletonMap("alyssa", Collections.singleton("bbitdiddle")), view);
+        assertEquals("expected one piece of evidence", 1, graph.evidence("ALYSSA", "bbitdiddle"));
+        assertEquals("expected no self-follow", 0, graph.evidence("alyssa", "alyssa"));
+
+        assertTrue("expected added", graph.addTweet(tweet2));
+        assertEquals("expected one tweet per piece of evidence", 2, graph.evidence("alyssa", "bbitdiddle"));
+        assertEquals("expected one edge", 1, graph.edgeCount());
+    }
+
+    // This test covers 2 -> 1 -> 0, no mentions, removing present and absent ids
+    @Test
+    public void testEdgeDisappears() {
+        FollowsGraph graph = new FollowsGraph();
+        graph.addTweet(tweet1);
+        graph.addTweet(tweet2);
+        graph.addTweet(tweet3);
+
+        assertTrue("expected removed", graph.removeTweet(tweet2));
+        assertEquals("expected edge kept", Collections.singleton("bbitdiddle"), graph.asMap().get("alyssa"));
+        assertTrue("expected removed", graph.removeTweet(1));
+        assertTrue("expected no edges", graph.asMap().isEmpty());
+        assertEquals("expected no edges", 0, graph.edgeCount());
+        assertFalse("expected absent", graph.removeTweet(1));
+        assertEquals("expected one tweet left", 1, graph.tweetCount());
+    }
+
+    // This test covers duplicate id
+    @Test
+    public void testDuplicateIgnored() {
+        FollowsGraph graph = new FollowsGraph();
+        graph.addTweet(tweet1);
+
+        assertFalse("expected duplicate", graph.addTweet(new Tweet(1, "alyssa", "@ben", d1)));
+        assertEquals("expected unchanged", 1, graph.evidence("alyssa", "bbitdiddle"));
+        assertEquals("expected unchanged", 0, graph.evidence("alyssa", "ben"));
+    }
+
+    // This test covers random adds and removes
+    @Test
+    public void testMatchesRebuild() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(3_000, 22);
+        Random random = new Random(22);
+        FollowsGraph graph = new FollowsGraph();
+        List<Tweet> present = new ArrayList<>();
+        for (int step = 0; step < 6_000; step++) {
+            if (present.isEmpty() || random.nextInt(3) > 0) {
+                Tweet tweet = tweets.get(random.nextInt(tweets.size()));
+                if (graph.addTweet(tweet)) {
+                    present.add(tweet);
+                }
+            } else {
+                Tweet tweet = present.remove(random.nextInt(present.size()));
+                assertTrue("expected removed", graph.removeTweet(tweet));
+            }
+        }
+        assertEquals("expected same as rebuilding", Benchmarks.foldedFollowsGraph(present), graph.asMap());
+    }
+
+    // This test covers the view being unmodifiable
+    @Test(expected=UnsupportedOperationException.class)
+    public void testViewUnmodifiable() {
+        FollowsGraph graph = new FollowsGraph();
+        graph.addTweet(tweet1);
+        graph.asMap().get("alyssa").addAll(Arrays.asList("ben"));
+    }
+}
@@ -0,0 +1,63 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares ranking every followed user by boxed counts and a full sort, as
+ * SocialNetwork.influencers originally did, with selecting only the top 10
+ * by primitive counts and a bounded heap, and with reading the top 10 from a
+ * FollowerRanking kept up to date in place.
+ * 
+ * Usage: InfluencersBenchmark [tweetCount]
+ */
+public class InfluencersBenchmark {
+
+    private static final int K = 10;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Map<String, Set<String>> graph = FollowsGraphBuilder.of(Benchmarks.syntheticTweets(count, 6005));
+        int edges = 0;
+        for (Set<String> follows : graph.values()) {
+            edges += follows.size();
+        }
+        System.out.println("users: " + graph.size() + ", edges: " + edges);
+        report("boxed counts, full sort", edges, Benchmarks.best(2, 5, () -> boxedSort(graph)));
+        report("influencers(graph)", edges, Benchmarks.best(2, 5, () -> SocialNetwork.influencers(graph)));
+        report("influencers(graph, 10)", edges, Benchmarks.best(2, 5, () -> SocialNetwork.influencers(graph, K)));
+        report("FollowerRanking.of", edges, Benchmarks.best(2, 5, () -> FollowerRanking.of(graph)));
+        FollowerRanking ranking = FollowerRanking.of(graph);
+        Benchmarks.Measurement top = Benchmarks.best(100, 1000, () -> ranking.top(K));
+        System.out.println(String.format("  %-32s %12.3f us", "FollowerRanking.top(10)", top.nanos / 1e3));
+    }
+
+    /*
+     * The original SocialNetwork.influencers.
+     */
+    private static List<String> boxedSort(Map<String, Set<String>> followsGraph) {
+        Map<String, Long> followedGraph = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : followsGraph.entrySet()) {
+            for (String followed : entry.getValue()) {
+                followedGraph.put(followed, Optional.ofNullable(followedGraph.get(followed)).map(i -> i+1L).orElse(1L));
+            }
+        }
+        Comparator<Map.Entry<String, Long>> comparator = Map.Entry.comparingByValue();
+        return followedGraph.entrySet().stream()
+                .sorted(comparator.reversed())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private static void report(String name, int edges, Benchmarks.Measurement m) {
+        System.out.println(String.format("  %-32s %12.0f edges/s %10.1f ms", name, m.perSecond(edges), m.nanos / 1e6));
+    }
+}
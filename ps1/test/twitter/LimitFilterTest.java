@@ -0,0 +1,106 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LimitFilterTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d2);
+    private static final Tweet tweet3 = new Tweet(3, "alyssa", "rivest again", d2);
+    private static final Tweet tweet4 = new Tweet(4, "Alyssa", "anydf?", d1);
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(5_000, 18);
+    private static final List<String> words = Arrays.asList("rivest", "MIT");
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for the limit-aware Filter variants
+     *
+     * Partition the inputs as follows:
+     *  limit: 0, < matches, = matches, > matches, < 0
+     *  order: list order, most recent first (by heap, by time index)
+     *  timestamps of matches: distinct, tied
+     * Compare results with a prefix of the unlimited Filter methods, and of
+     * their results sorted latest first (a stable sort, so ties keep list order).
+     */
+
+    // This test covers limit 0
+    @Test
+    public void testLimitZero() {
+        List<Tweet> list = Arrays.asList(tweet1, tweet2);
+
+        assertTrue("expected empty list", Filter.writtenBy(list, "alyssa", 0).isEmpty());
+        assertTrue("expected empty list", Filter.mostRecentContaining(list, words, 0).isEmpty());
+    }
+
+    // This test covers limit < 0
+    @Test(expected=IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        Filter.containing(Arrays.asList(tweet1), words, -1);
+    }
+
+    // This test covers limit < matches, = matches, > matches, list order
+    @Test
+    public void testFirstMatches() {
+        List<Tweet> all = Filter.containing(tweets, words);
+        Timespan morning = new Timespan(Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+
+        assertEquals("expected prefix", all.subList(0, 50), Filter.containing(tweets, words, 50));
+        assertEquals("expected all", all, Filter.containing(tweets, words, all.size()));
+        assertEquals("expected all", Filter.writtenBy(tweets, "user3"), Filter.writtenBy(tweets, "user3", 1_000_000));
+        assertEquals("expected prefix", Filter.inTimespan(tweets, morning).subList(0, 7),
+                Filter.inTimespan(tweets, morning, 7));
+    }
+
+    // This test covers most recent first by heap and by index, distinct and tied timestamps
+    @Test
+    public void testMostRecent() {
+        TweetTimeIndex index = TweetTimeIndex.of(tweets);
+        List<Tweet> sorted = latestFirst(Filter.containing(tweets, words));
+
+        assertEquals("expected latest by heap", sorted.subList(0, 50), Filter.mostRecentContaining(tweets, words, 50));
+        assertEquals("expected latest by index", sorted.subList(0, 50), Filter.mostRecentContaining(index, words, 50));
+        assertEquals("expected all by heap", latestFirst(Filter.writtenBy(tweets, "user9")),
+                Filter.mostRecentWrittenBy(tweets, "user9", 1_000));
+        assertEquals("expected all by index", latestFirst(Filter.writtenBy(tweets, "user9")),
+                Filter.mostRecentWrittenBy(index, "user9", 1_000));
+    }
+
+    // This test covers tied timestamps, limit cutting through a tie
+    @Test
+    public void testTiesInListOrder() {
+        List<Tweet> list = Arrays.asList(tweet1, tweet2, tweet3, tweet4);
+
+        assertEquals("expected tie in list order", Arrays.asList(tweet2, tweet3),
+                Filter.mostRecentContaining(list, Arrays.asList("rivest"), 2));
+        assertEquals("expected first of tie", Arrays.asList(tweet2),
+                Filter.mostRecentContaining(TweetTimeIndex.of(list), Arrays.asList("rivest"), 1));
+        assertEquals("expected latest first", Arrays.asList(tweet3, tweet1, tweet4),
+                Filter.mostRecentWrittenBy(TweetTimeIndex.of(list), "alyssa", 5));
+    }
+
+    private static List<Tweet> latestFirst(List<Tweet> tweets) {
+        List<Tweet> sorted = new ArrayList<>(tweets);
+        Collections.sort(sorted, Comparator.comparing(Tweet::getTimestamp).reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class MappedNdjsonTweetReaderTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for MappedNdjsonTweetReader.readTweets
+     *
+     * Partition the inputs as follows:
+     *  file: empty, one line, many lines
+     *  line breaks: LF, CRLF; blank lines: none, empty, whitespace only
+     *  last line: ends with a line break, does not
+     *  range size: larger than the file, shorter than a line (so every
+     *              boundary falls inside a record), every size in between
+     *  reading: on the calling thread, in parallel on a pool
+     * Results are compared with TweetReader reading the same tweets as a
+     * JSON array.
+     */
+
+    // This test covers empty file, both ways of reading
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = write("");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertTrue("expected no tweets", MappedNdjsonTweetReader.readTweets(file).isEmpty());
+            assertTrue("expected no tweets", MappedNdjsonTweetReader.readTweets(file, pool, 1).isEmpty());
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    // This test covers one line, no final line break, range larger than the file
+    @Test
+    public void testSingleLineWithoutLineBreak() throws IOException {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(1, 6031);
+        Path file = write(line(tweets.get(0)));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals("expected the tweet", expected(tweets), MappedNdjsonTweetReader.readTweets(file));
+            assertEquals("expected the tweet", expected(tweets),
+                    MappedNdjsonTweetReader.readTweets(file, pool, 1 << 20));
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    // This test covers many lines, LF, every range size from 1 byte to the
+    // whole file, in parallel
+    @Test
+    public void testEveryRangeSize() throws IOException {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(12, 6005);
+        StringBuilder text = new StringBuilder();
+        for (Tweet tweet : tweets) {
+            text.append(line(tweet)).append('\n');
+        }
+        Path file = write(text.toString());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Tweet> expected = expected(tweets);
+            assertEquals("expected same tweets", expected, MappedNdjsonTweetReader.readTweets(file));
+            for (int rangeBytes = 1; rangeBytes <= text.length() + 1; rangeBytes += 7) {
+                assertEquals("expected same tweets with ranges of " + rangeBytes + " bytes",
+                        expected, MappedNdjsonTweetReader.readTweets(file, pool, rangeBytes));
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    // This test covers CRLF, empty and whitespace-only lines, no final line
+    // break, ranges shorter than a line
+    @Test
+    public void testCrlfAndBlankLines() throws IOException {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(5, 42);
+        String text = "\r\n"
+                + line(tweets.get(0)) + "\r\n"
+                + " \t \r\n"
+                + line(tweets.get(1)) + "\r\n"
+                + "\n\n"
+                + line(tweets.get(2)) + "\n"
+                + line(tweets.get(3)) + "\r\n"
+                + line(tweets.get(4));
+        Path file = write(text);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<Tweet> expected = expected(tweets);
+            assertEquals("expected same tweets", expected, MappedNdjsonTweetReader.readTweets(file));
+            for (int rangeBytes = 1; rangeBytes <= 40; rangeBytes++) {
+                assertEquals("expected same tweets with ranges of " + rangeBytes + " bytes",
+                        expected, MappedNdjsonTweetReader.readTweets(file, pool, rangeBytes));
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    /*
+     * One NDJSON record for tweet, with the padding of a real payload.
+     */
+    private static String line(Tweet tweet) throws IOException {
+        StringWriter out = new StringWriter();
+        TweetReaderBenchmark.writeTweet(tweet, out);
+        return out.toString();
+    }
+
+    private static Path write(String text) throws IOException {
+        Path file = Files.createTempFile("tweets", ".ndjson");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /*
+     * tweets as TweetReader reads them back from a JSON array.
+     */
+    private static List<Tweet> expected(List<Tweet> tweets) throws IOException {
+        Path file = Files.createTempFile("tweets", ".json");
+        try {
+            TweetReaderBenchmark.writeJson(new ArrayList<>(tweets), file);
+            return TweetReader.readTweetsFromWeb(file.toUri().toURL());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MentionScannerTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for MentionScanner.scan and Extract.getMentionedUsersParallel
+     *
+     * Partition the inputs as follows:
+     *  text: null, empty, no "@", "@" at start, "@" at end
+     *  character before "@": none, username char, other
+     *  mention case: lower, mixed
+     *  repeated "@": "@@name"
+     *  list size for the parallel variant: 0, large
+     */
+
+    // This test covers null, empty, and "@"-free text
+    @Test
+    public void testNoMentions() {
+        assertEquals("expected none", new ArrayList<String>(), scan(null));
+        assertEquals("expected none", new ArrayList<String>(), scan(""));
+        assertEquals("expected none", new ArrayList<String>(), scan("rivest talk in 30 minutes"));
+    }
+
+    // This test covers "@" at start and at end, mixed case, repeats kept in order
+    @Test
+    public void testMentionsInOrder() {
+        assertEquals("expected mentions", Arrays.asList("alyssa", "bbit-did_dle", "alyssa"),
+                scan("@alyssa meet @BBit-Did_dle and @ALYSSA @"));
+    }
+
+    // This test covers username char before "@", other char before "@", "@@name"
+    @Test
+    public void testCharacterBeforeAt() {
+        assertEquals("expected only the non-email mentions", Arrays.asList("mit", "bert"),
+                scan("bitdiddle@mit.edu (@mit) @@bert"));
+    }
+
+    // This test covers the parallel variant on empty and large lists
+    @Test
+    public void testParallelMatchesSequential() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(20_000, 6031);
+
+        assertTrue("expected empty set", Extract.getMentionedUsersParallel(new ArrayList<>()).isEmpty());
+        assertEquals("expected same set", Extract.getMentionedUsers(tweets), Extract.getMentionedUsersParallel(tweets));
+    }
+
+    private static List<String> scan(String text) {
+        List<String> mentions = new ArrayList<>();
+        new MentionScanner().scan(text, mentions);
+        return mentions;
+    }
+}
@@ -0,0 +1,133 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ParallelFilterTest {
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(10_000, 16);
+    private static final Timespan morning = new Timespan(
+            Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for ParallelFilter and the Filter parallel variants
+     *
+     * Partition the inputs as follows:
+     *  tweets.size(): 0, < threshold, >= threshold
+     *  tweets.size() % chunk size: 0, > 0
+     *  pool parallelism: 1, > 1
+     *  result: empty, nonempty
+     * Compare results with the sequential Filter methods.
+     */
+
+    // This test covers size 0, parallelism > 1, empty result
+    @Test
+    public void testEmpty() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertTrue("expected empty list",
+                    ParallelFilter.filter(new ArrayList<Tweet>(), tweet -> true, pool, 1).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // This test covers size >= threshold, uneven last chunk, parallelism > 1, nonempty result
+    @Test
+    public void testChunksKeepOrder() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Tweet> expected = Filter.inTimespan(tweets, morning);
+            List<Tweet> actual = ParallelFilter.filter(tweets,
+                    tweet -> !tweet.getTimestamp().isBefore(morning.getStart())
+                            && !tweet.getTimestamp().isAfter(morning.getEnd()), pool, 333);
+
+            assertEquals("expected same tweets in same order", expected, actual);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // This test covers size >= threshold, size a multiple of chunk size, every tweet matching
+    @Test
+    public void testEvenChunksAllMatch() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals("expected every tweet in order", tweets,
+                    ParallelFilter.filter(tweets, tweet -> true, pool, 1_000));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // This test covers parallelism 1
+    @Test
+    public void testSingleWorker() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            assertEquals("expected same as writtenBy", Filter.writtenBy(tweets, "user7"),
+                    Filter.writtenByParallel(tweets, "user7", pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // This test covers the public variants on the common pool, size < or >= threshold
+    @Test
+    public void testFilterVariantsMatchSequential() {
+        List<String> words = Arrays.asList("Rivest", "mit");
+        List<Tweet> small = tweets.subList(0, 10);
+
+        assertEquals("expected same as writtenBy", Filter.writtenBy(tweets, "USER3"),
+                Filter.writtenByParallel(tweets, "USER3"));
+        assertEquals("expected same as inTimespan", Filter.inTimespan(tweets, morning),
+                Filter.inTimespanParallel(tweets, morning));
+        assertEquals("expected same as containing", Filter.containing(tweets, words),
+                Filter.containingParallel(tweets, words));
+        assertEquals("expected same as containing", Filter.containing(small, words),
+                Filter.containingParallel(small, words));
+    }
+
+    // This test covers size < any threshold on a pool not used before
+    @Test
+    public void testSmallListSkipsCalibration() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Tweet> small = tweets.subList(0, 10);
+            assertEquals("expected same as writtenBy", Filter.writtenBy(small, "user7"),
+                    Filter.writtenByParallel(small, "user7", pool));
+            assertFalse("expected no calibration", ParallelFilter.isCalibrated(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // This test covers the calibrated threshold, common and explicit pools
+    @Test
+    public void testThresholdInRange() {
+        assertTrue("expected positive threshold", ParallelFilter.threshold(ForkJoinPool.commonPool()) >= 1);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            int threshold = ParallelFilter.threshold(pool);
+            assertTrue("expected positive threshold", threshold >= 1);
+            assertEquals("expected threshold kept for the pool", threshold, ParallelFilter.threshold(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
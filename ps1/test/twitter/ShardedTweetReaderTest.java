@@ -0,0 +1,175 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class ShardedTweetReaderTest {
+
+    private static final int SHARDS = 9;
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for ShardedTweetReader
+     *
+     * Partition the inputs as follows:
+     *  format: JSON array, NDJSON (files and a Reader)
+     *  files: none, one empty shard, many shards of different sizes
+     *  pool: common pool, explicit pool with 1 or several workers
+     *  a shard: readable, missing
+     */
+
+    // This test covers JSON arrays, many shards, every pool
+    @Test
+    public void testJsonShardsMergeInOrder() throws IOException {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(200, 6005);
+        List<Path> files = new ArrayList<>();
+        try {
+            for (List<Tweet> shard : shards(tweets)) {
+                Path file = Files.createTempFile("shard", ".json");
+                files.add(file);
+                TweetReaderBenchmark.writeJson(shard, file);
+            }
+
+            assertEquals("expected shard order", tweets, ShardedTweetReader.readTweetsFromFiles(files));
+            for (int workers : new int[] { 1, 4 }) {
+                ForkJoinPool pool = new ForkJoinPool(workers);
+                try {
+                    assertEquals("expected shard order with " + workers + " workers", tweets,
+                            ShardedTweetReader.readTweetsFromFiles(files, pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            deleteAll(files);
+        }
+    }
+
+    // This test covers NDJSON files and Reader, many shards, every pool
+    @Test
+    public void testNdjsonShardsMergeInOrder() throws IOException {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(200, 42);
+        List<Path> files = new ArrayList<>();
+        try {
+            for (List<Tweet> shard : shards(tweets)) {
+                Path file = Files.createTempFile("shard", ".ndjson");
+                files.add(file);
+                Files.write(file, ndjson(shard).getBytes(StandardCharsets.UTF_8));
+            }
+
+            assertEquals("expected shard order", tweets, ShardedTweetReader.readNdjsonTweetsFromFiles(files));
+            for (int workers : new int[] { 1, 4 }) {
+                ForkJoinPool pool = new ForkJoinPool(workers);
+                try {
+                    assertEquals("expected shard order with " + workers + " workers", tweets,
+                            ShardedTweetReader.readNdjsonTweetsFromFiles(files, pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            assertEquals("expected line order", tweets,
+                    ShardedTweetReader.readNdjsonTweets(new StringReader(ndjson(tweets))));
+        } finally {
+            deleteAll(files);
+        }
+    }
+
+    // This test covers no files, one empty shard
+    @Test
+    public void testNoTweets() throws IOException {
+        assertTrue("expected no tweets", ShardedTweetReader.readTweetsFromFiles(Collections.<Path>emptyList()).isEmpty());
+        assertTrue("expected no tweets", ShardedTweetReader.readNdjsonTweetsFromFiles(Collections.<Path>emptyList()).isEmpty());
+
+        Path json = Files.createTempFile("shard", ".json");
+        Path ndjson = Files.createTempFile("shard", ".ndjson");
+        try {
+            TweetReaderBenchmark.writeJson(Collections.<Tweet>emptyList(), json);
+            assertTrue("expected no tweets", ShardedTweetReader.readTweetsFromFiles(Arrays.asList(json)).isEmpty());
+            assertTrue("expected no tweets", ShardedTweetReader.readNdjsonTweetsFromFiles(Arrays.asList(ndjson)).isEmpty());
+        } finally {
+            deleteAll(Arrays.asList(json, ndjson));
+        }
+    }
+
+    // This test covers a missing shard among readable ones, JSON arrays
+    @Test(expected=NoSuchFileException.class)
+    public void testMissingJsonShard() throws IOException {
+        readWithMissingShard(false);
+    }
+
+    // This test covers a missing shard among readable ones, NDJSON
+    @Test(expected=NoSuchFileException.class)
+    public void testMissingNdjsonShard() throws IOException {
+        readWithMissingShard(true);
+    }
+
+    private static void readWithMissingShard(boolean ndjson) throws IOException {
+        Path present = Files.createTempFile("shard", ".json");
+        Path missing = Files.createTempFile("shard", ".json");
+        Files.delete(missing);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            List<Tweet> tweets = Benchmarks.syntheticTweets(10, 1);
+            if (ndjson) {
+                Files.write(present, ndjson(tweets).getBytes(StandardCharsets.UTF_8));
+                ShardedTweetReader.readNdjsonTweetsFromFiles(Arrays.asList(present, missing, present), pool);
+            } else {
+                TweetReaderBenchmark.writeJson(tweets, present);
+                ShardedTweetReader.readTweetsFromFiles(Arrays.asList(present, missing, present), pool);
+            }
+        } finally {
+            pool.shutdown();
+            Files.delete(present);
+        }
+    }
+
+    /*
+     * Cut tweets into SHARDS consecutive shards of different sizes, some empty.
+     */
+    private static List<List<Tweet>> shards(List<Tweet> tweets) {
+        List<List<Tweet>> shards = new ArrayList<>();
+        int start = 0;
+        for (int s = 0; s < SHARDS; s++) {
+            int end = s == SHARDS - 1 ? tweets.size() : Math.min(tweets.size(), start + s * s);
+            shards.add(tweets.subList(start, end));
+            start = end;
+        }
+        return shards;
+    }
+
+    private static String ndjson(List<Tweet> tweets) throws IOException {
+        StringWriter out = new StringWriter();
+        for (Tweet tweet : tweets) {
+            TweetReaderBenchmark.writeTweet(tweet, out);
+            out.write('\n');
+        }
+        return out.toString();
+    }
+
+    private static void deleteAll(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.JsonException;
+
+import org.junit.Test;
+
+public class StreamingTweetReaderTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for StreamingTweetReader
+     *
+     * Partition the inputs as follows:
+     *  array length: 0, > 1
+     *  input: well-formed, not an array, array holding a non-object
+     *  access: iterator, stream from a reader, stream from a URL, spliterator
+     *  next(): before the end, after the end
+     *  close(): before the end (iterator, stream)
+     * Tweets read are compared with TweetReader.readTweetsFromWeb of the same
+     * document.
+     */
+
+    // This test covers array length 0, next() after the end
+    @Test
+    public void testEmptyArray() {
+        StreamingTweetReader reader = new StreamingTweetReader(new StringReader(" [ ] "));
+
+        assertFalse("expected no tweets", reader.hasNext());
+        try {
+            reader.next();
+            fail("expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    // This test covers array length > 1, iterator, next() after the end
+    @Test
+    public void testIteratorMatchesTweetReader() throws IOException {
+        Path file = writeJson(Benchmarks.syntheticTweets(50, 6005));
+        try (StreamingTweetReader reader = new StreamingTweetReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<Tweet> tweets = new ArrayList<>();
+            while (reader.hasNext()) {
+                tweets.add(reader.next());
+            }
+
+            assertEquals("expected same tweets", TweetReader.readTweetsFromWeb(file.toUri().toURL()), tweets);
+            assertFalse("expected end to persist", reader.hasNext());
+            try {
+                reader.next();
+                fail("expected NoSuchElementException");
+            } catch (NoSuchElementException e) {
+                // expected
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // This test covers stream from a reader and from a URL, spliterator
+    @Test
+    public void testStreamsMatchTweetReader() throws IOException {
+        Path file = writeJson(Benchmarks.syntheticTweets(30, 42));
+        try {
+            URL url = file.toUri().toURL();
+            List<Tweet> expected = TweetReader.readTweetsFromWeb(url);
+            try (Stream<Tweet> tweets = StreamingTweetReader.streamTweets(
+                    Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                assertEquals("expected same tweets", expected, tweets.collect(Collectors.toList()));
+            }
+            try (Stream<Tweet> tweets = StreamingTweetReader.streamTweetsFromWeb(url)) {
+                assertEquals("expected same tweets", expected, tweets.collect(Collectors.toList()));
+            }
+
+            Spliterator<Tweet> spliterator = new StreamingTweetReader(
+                    Files.newBufferedReader(file, StandardCharsets.UTF_8)).spliterator();
+            assertTrue("expected ordered", spliterator.hasCharacteristics(Spliterator.ORDERED));
+            assertNull("expected no split", spliterator.trySplit());
+            List<Tweet> tweets = new ArrayList<>();
+            spliterator.forEachRemaining(tweets::add);
+            assertEquals("expected same tweets", expected, tweets);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // This test covers input not an array
+    @Test(expected=JsonException.class)
+    public void testNotAnArray() {
+        new StreamingTweetReader(new StringReader("{\"id\":1}")).hasNext();
+    }
+
+    // This test covers array holding a non-object
+    @Test(expected=JsonException.class)
+    public void testArrayOfNonObjects() {
+        new StreamingTweetReader(new StringReader("[1, 2]")).hasNext();
+    }
+
+    // This test covers close() before the end, iterator and stream
+    @Test
+    public void testCloseClosesReader() throws IOException {
+        Path file = writeJson(Benchmarks.syntheticTweets(3, 1));
+        try {
+            CloseTrackingReader source = new CloseTrackingReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+            StreamingTweetReader reader = new StreamingTweetReader(source);
+            reader.next();
+            reader.close();
+            assertTrue("expected source closed", source.closed);
+            assertFalse("expected no more tweets", reader.hasNext());
+
+            source = new CloseTrackingReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+            try (Stream<Tweet> tweets = StreamingTweetReader.streamTweets(source)) {
+                assertEquals("expected first tweet", Benchmarks.syntheticTweets(3, 1).get(0).getId(),
+                        tweets.findFirst().get().getId());
+            }
+            assertTrue("expected source closed with the stream", source.closed);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Path writeJson(List<Tweet> tweets) throws IOException {
+        Path file = Files.createTempFile("tweets", ".json");
+        TweetReaderBenchmark.writeJson(tweets, file);
+        return file;
+    }
+
+    /*
+     * Reader that records whether it has been closed.
+     */
+    private static class CloseTrackingReader extends Reader {
+
+        private final Reader in;
+        boolean closed;
+
+        CloseTrackingReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) throws IOException {
+            return in.read(chars, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            in.close();
+        }
+    }
+}
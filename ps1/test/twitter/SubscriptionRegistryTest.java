@@ -0,0 +1,218 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import twitter.SubscriptionRegistry.Subscription;
+
+public class SubscriptionRegistryTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "Rivest talk in 30 minutes #hype", d2);
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(2_000, 19);
+    private static final List<String> vocabulary = Arrays.asList(
+            "rivest", "talk", "MIT", "6.005", "java", "today", "great", "nothing");
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for SubscriptionRegistry
+     *
+     * Partition the inputs as follows:
+     *  subscription conditions: authors only, keywords only, authors and
+     *    keywords, window only, none, all three
+     *  keyword case: same as tweet, different
+     *  keywords in tweet: 0, 1, several of the same subscription
+     *  registry operations: subscribe, subscribe twice, unsubscribe
+     *  windows only: ended before the tweet, containing it (including at
+ *    either endpoint), starting after it, several sharing an end
+ *  threads matching: 1, several
+     * Compare match results with Subscription.matches and with Filter passes.
+     */
+
+    // This test covers keywords only, different case, several keywords in the tweet
+    @Test
+    public void testKeywordsOnceEach() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Subscription talks = Subscription.of("talks", Collections.<String>emptyList(),
+                Arrays.asList("RIVEST", "talk"), null);
+        registry.subscribe(talks);
+
+        assertEquals("expected one match", Arrays.asList(talks), registry.match(tweet1));
+        assertEquals("expected one match", Arrays.asList(talks), registry.match(tweet2));
+    }
+
+    // This test covers authors only, authors and keywords, window only, none, 0 keywords in tweet
+    @Test
+    public void testAnchors() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Subscription alyssa = Subscription.of("alyssa", Arrays.asList("Alyssa"), Collections.<String>emptyList(), null);
+        Subscription alyssaHype = Subscription.of("alyssa #hype", Arrays.asList("alyssa"), Arrays.asList("#hype"), null);
+        Subscription late = Subscription.of("late", Collections.<String>emptyList(),
+                Collections.<String>emptyList(), new Timespan(d2, d2));
+        Subscription everything = Subscription.of("everything", Collections.<String>emptyList(),
+                Collections.<String>emptyList(), null);
+        for (Subscription subscription : Arrays.asList(alyssa, alyssaHype, late, everything)) {
+            registry.subscribe(subscription);
+        }
+
+        assertEquals("expected matches", new HashSet<>(Arrays.asList(alyssa, everything)),
+                new HashSet<>(registry.match(tweet1)));
+        assertEquals("expected matches", new HashSet<>(Arrays.asList(late, everything)),
+                new HashSet<>(registry.match(tweet2)));
+    }
+
+    // This test covers windows only: ended, containing at either endpoint,
+    // starting later, sharing an end; unsubscribe
+    @Test
+    public void testWindows() {
+        Instant d0 = Instant.parse("2016-02-17T09:00:00Z");
+        Instant d3 = Instant.parse("2016-02-17T12:00:00Z");
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Subscription ended = window("ended", d0, d0);
+        Subscription atStart = window("at start", d1, d3);
+        Subscription atEnd = window("at end", d0, d1);
+        Subscription later = window("later", d2, d3);
+        Subscription sameEnd = window("same end", d0, d3);
+        for (Subscription subscription : Arrays.asList(ended, atStart, atEnd, later, sameEnd)) {
+            registry.subscribe(subscription);
+        }
+
+        assertEquals("expected windows containing d1", new HashSet<>(Arrays.asList(atStart, atEnd, sameEnd)),
+                new HashSet<>(registry.match(tweet1)));
+        assertEquals("expected windows containing d2", new HashSet<>(Arrays.asList(atStart, later, sameEnd)),
+                new HashSet<>(registry.match(tweet2)));
+
+        registry.unsubscribe(atStart);
+        registry.unsubscribe(atEnd);
+
+        assertEquals("expected remaining window", Arrays.asList(sameEnd), registry.match(tweet1));
+    }
+
+    // This test covers subscribe twice, unsubscribe
+    @Test
+    public void testSubscribeAndUnsubscribe() {
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        Subscription talks = Subscription.of("talks", Collections.<String>emptyList(), Arrays.asList("talk"), null);
+        registry.subscribe(talks);
+        registry.subscribe(talks);
+
+        assertEquals("expected one subscription", 1, registry.size());
+        assertEquals("expected one match", 1, registry.match(tweet1).size());
+
+        registry.unsubscribe(talks);
+
+        assertEquals("expected no subscriptions", 0, registry.size());
+        assertTrue("expected no matches", registry.match(tweet1).isEmpty());
+    }
+
+    // This test covers all three conditions, many subscriptions, several threads
+    @Test
+    public void testManySubscriptionsConcurrently() throws Exception {
+        List<Subscription> subscriptions = randomSubscriptions(500);
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        for (Subscription subscription : subscriptions) {
+            registry.subscribe(subscription);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Set<Subscription>>>> parts = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                parts.add(executor.submit(() -> {
+                    List<Set<Subscription>> matched = new ArrayList<>();
+                    for (Tweet tweet : tweets) {
+                        matched.add(new HashSet<>(registry.match(tweet)));
+                    }
+                    return matched;
+                }));
+            }
+            for (Future<List<Set<Subscription>>> part : parts) {
+                List<Set<Subscription>> matched = part.get();
+                for (int i = 0; i < tweets.size(); i++) {
+                    Set<Subscription> expected = new HashSet<>();
+                    for (Subscription subscription : subscriptions) {
+                        if (subscription.matches(tweets.get(i))) {
+                            expected.add(subscription);
+                        }
+                    }
+                    assertEquals("expected same matches for tweet " + i, expected, matched.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // This test covers agreement of Subscription.matches with Filter
+    @Test
+    public void testAgreesWithFilter() {
+        Timespan morning = new Timespan(Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+        Subscription subscription = Subscription.of("s", Arrays.asList("user3"), Arrays.asList("Rivest", "mit"), morning);
+        SubscriptionRegistry registry = new SubscriptionRegistry();
+        registry.subscribe(subscription);
+
+        List<Tweet> matched = new ArrayList<>();
+        for (Tweet tweet : tweets) {
+            if (!registry.match(tweet).isEmpty()) {
+                matched.add(tweet);
+            }
+        }
+        assertEquals("expected same as chained Filter",
+                Filter.inTimespan(Filter.containing(Filter.writtenBy(tweets, "user3"), Arrays.asList("Rivest", "mit")),
+                        morning),
+                matched);
+    }
+
+    private static Subscription window(String name, Instant start, Instant end) {
+        return Subscription.of(name, Collections.<String>emptyList(), Collections.<String>emptyList(),
+                new Timespan(start, end));
+    }
+
+    private static List<Subscription> randomSubscriptions(int count) {
+        Random random = new Random(19);
+        Instant start = Instant.parse("2016-02-17T00:00:00Z");
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> authors = new ArrayList<>();
+            List<String> keywords = new ArrayList<>();
+            Timespan window = null;
+            if (random.nextBoolean()) {
+                authors.add("USER" + random.nextInt(100));
+            }
+            if (random.nextBoolean()) {
+                keywords.add(vocabulary.get(random.nextInt(vocabulary.size())));
+                keywords.add(vocabulary.get(random.nextInt(vocabulary.size())));
+            }
+            if (random.nextInt(4) == 0) {
+                Instant from = start.plusSeconds(random.nextInt(86400));
+                window = new Timespan(from, from.plusSeconds(random.nextInt(20000)));
+            }
+            subscriptions.add(Subscription.of("s" + i, authors, keywords, window));
+        }
+        return subscriptions;
+    }
+}
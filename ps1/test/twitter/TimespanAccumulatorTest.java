@@ -0,0 +1,92 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+public class TimespanAccumulatorTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T10:00:00.500Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T11:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d2);
+    private static final Tweet tweet3 = new Tweet(3, "alyssa", "anydf?", d3);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TimespanAccumulator
+     *
+     * Partition the inputs as follows:
+     *  tweets accepted: 0, 1, > 1
+     *  extremes: differ in seconds, differ only in nanoseconds
+     *  combine: with empty, with nonempty
+     *  collector: sequential, parallel
+     */
+
+    // This test covers 0 tweets accepted
+    @Test(expected=NoSuchElementException.class)
+    public void testEmpty() {
+        new TimespanAccumulator().toTimespan();
+    }
+
+    // This test covers 0 tweets, Extract.getTimespanParallel
+    @Test(expected=NullPointerException.class)
+    public void testEmptyParallel() {
+        Extract.getTimespanParallel(new ArrayList<Tweet>());
+    }
+
+    // This test covers 1 tweet, combine with empty
+    @Test
+    public void testSingleTweetCombinedWithEmpty() {
+        TimespanAccumulator accumulator = new TimespanAccumulator();
+        accumulator.accept(tweet2);
+        accumulator.combine(new TimespanAccumulator());
+
+        assertEquals("expected zero-length span", new Timespan(d2, d2), accumulator.toTimespan());
+    }
+
+    // This test covers > 1 tweet, extremes differing only in nanoseconds, combine with nonempty
+    @Test
+    public void testCombineNonEmpty() {
+        TimespanAccumulator left = new TimespanAccumulator();
+        left.accept(tweet2);
+        TimespanAccumulator right = new TimespanAccumulator();
+        right.accept(tweet1);
+
+        assertEquals("expected sub-second span", new Timespan(d1, d2), left.combine(right).toTimespan());
+    }
+
+    // This test covers the collector, sequential and parallel
+    @Test
+    public void testCollector() {
+        List<Tweet> tweets = new ArrayList<>(Benchmarks.syntheticTweets(10_000, 6005));
+        tweets.addAll(Arrays.asList(tweet1, tweet2, tweet3));
+
+        // computed here rather than by Extract, which is built on TimespanAccumulator
+        List<Instant> timestamps = new ArrayList<>();
+        for (Tweet tweet : tweets) {
+            timestamps.add(tweet.getTimestamp());
+        }
+        Timespan expected = new Timespan(Collections.min(timestamps), Collections.max(timestamps));
+        assertEquals("expected sequential span", expected, tweets.stream().collect(TimespanAccumulator.collector()));
+        assertEquals("expected parallel span", expected, tweets.parallelStream().collect(TimespanAccumulator.collector()));
+        assertEquals("expected Extract span", expected, Extract.getTimespan(tweets));
+        assertEquals("expected parallel Extract span", expected, Extract.getTimespanParallel(tweets));
+    }
+}
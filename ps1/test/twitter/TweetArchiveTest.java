@@ -0,0 +1,102 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetArchiveTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00.250Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+    private static final Tweet tweet3 = new Tweet(Long.MAX_VALUE, "alyssa", "caf\u00e9 \u2603 @bbitdiddle", d1);
+    private static final Tweet tweet4 = new Tweet(4, "Alyssa", "", d2);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetArchive.write and TweetArchive.open
+     *
+     * Partition the inputs as follows:
+     *  tweets.size(): 0, 1, > 1
+     *  authors: all distinct, repeated, differing only in case
+     *  text: ASCII, non-ASCII, empty
+     *  timestamps: whole seconds, with fractional seconds
+     * Also cover a file that is not an archive.
+     */
+
+    // This test covers tweets.size()=0
+    @Test
+    public void testEmptyArchive() throws IOException {
+        List<Tweet> archived = roundTrip(new ArrayList<>());
+
+        assertTrue("expected empty list", archived.isEmpty());
+    }
+
+    // This test covers tweets.size()=1, ASCII text, whole seconds
+    @Test
+    public void testSingleTweet() throws IOException {
+        List<Tweet> archived = roundTrip(Arrays.asList(tweet1));
+
+        assertEquals("expected singleton list", 1, archived.size());
+        assertSameTweet(tweet1, archived.get(0));
+    }
+
+    // This test covers tweets.size()>1, repeated and case-differing authors,
+    // non-ASCII and empty text, fractional seconds
+    @Test
+    public void testManyTweets() throws IOException {
+        List<Tweet> tweets = Arrays.asList(tweet1, tweet2, tweet3, tweet4);
+        List<Tweet> archived = roundTrip(tweets);
+
+        assertEquals("expected same size", tweets.size(), archived.size());
+        for (int i = 0; i < tweets.size(); i++) {
+            assertSameTweet(tweets.get(i), archived.get(i));
+        }
+    }
+
+    // This test covers a file that is not an archive
+    @Test(expected=IOException.class)
+    public void testNotAnArchive() throws IOException {
+        Path file = Files.createTempFile("not-archive", ".bin");
+        try {
+            Files.write(file, "[{\"id\":1}]".getBytes("UTF-8"));
+            TweetArchive.open(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<Tweet> roundTrip(List<Tweet> tweets) throws IOException {
+        Path file = Files.createTempFile("tweets", ".twa");
+        try {
+            TweetArchive.write(tweets, file);
+            return new ArrayList<>(TweetArchive.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertSameTweet(Tweet expected, Tweet actual) {
+        assertEquals("expected id", expected.getId(), actual.getId());
+        assertEquals("expected author", expected.getAuthor(), actual.getAuthor());
+        assertEquals("expected text", expected.getText(), actual.getText());
+        assertEquals("expected timestamp", expected.getTimestamp(), actual.getTimestamp());
+    }
+}
@@ -0,0 +1,123 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetBlockIndexTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(10_000, 20);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetBlockIndex
+     *
+     * Partition the inputs as follows:
+     *  tweets.size(): 0, multiple of block size, not a multiple
+     *  query: absent from every block, present in some blocks, present in all
+     *  query case: same as tweets, different
+     *  filters: built in memory, written and read back over an archive
+     *  file: matching, built from a different number of tweets
+     * Compare results with the list Filter methods, and check that
+     * blocksRead + blocksSkipped == blockCount().
+     */
+
+    // This test covers size 0
+    @Test
+    public void testEmpty() {
+        TweetBlockIndex index = TweetBlockIndex.of(new ArrayList<Tweet>());
+
+        assertEquals("expected no blocks", 0, index.blockCount());
+        assertTrue("expected no tweets", index.containing(Arrays.asList("rivest")).getTweets().isEmpty());
+    }
+
+    // This test covers absent from every block, not a multiple of block size
+    @Test
+    public void testAbsentSkipsBlocks() {
+        TweetBlockIndex index = TweetBlockIndex.of(tweets, 300);
+        TweetBlockIndex.Scan scan = index.containing(Arrays.asList("obama", "#nosuchtag"));
+
+        assertTrue("expected no tweets", scan.getTweets().isEmpty());
+        assertEquals("expected all blocks accounted for", index.blockCount(),
+                scan.getBlocksRead() + scan.getBlocksSkipped());
+        assertTrue("expected most blocks skipped", scan.getBlocksSkipped() > index.blockCount() * 9 / 10);
+    }
+
+    // This test covers present in some blocks, different case
+    @Test
+    public void testAuthorInSomeBlocks() {
+        List<Tweet> list = new ArrayList<>(tweets);
+        list.add(new Tweet(20_001, "alyssa", "rivest talk in 30 minutes #hype", d1));
+        TweetBlockIndex index = TweetBlockIndex.of(list, 1_000);
+        TweetBlockIndex.Scan scan = index.writtenBy("ALYSSA");
+
+        assertEquals("expected same as writtenBy", Filter.writtenBy(list, "ALYSSA"), scan.getTweets());
+        assertEquals("expected same as writtenBy", Filter.writtenBy(list, "ALYSSA"), Filter.writtenBy(index, "ALYSSA"));
+        assertEquals("expected one block read", 1, scan.getBlocksRead());
+        assertEquals("expected other blocks skipped", index.blockCount() - 1, scan.getBlocksSkipped());
+    }
+
+    // This test covers present in all blocks, multiple of block size
+    @Test
+    public void testWordsInAllBlocks() {
+        List<String> words = Arrays.asList("Rivest", "mit");
+        TweetBlockIndex index = TweetBlockIndex.of(tweets, 1_000);
+        TweetBlockIndex.Scan scan = index.containing(words);
+
+        assertEquals("expected same as containing", Filter.containing(tweets, words), scan.getTweets());
+        assertEquals("expected same as containing", Filter.containing(tweets, words), Filter.containing(index, words));
+        assertEquals("expected every block read", index.blockCount(), scan.getBlocksRead());
+    }
+
+    // This test covers filters written and read back over an archive
+    @Test
+    public void testPersistedNextToArchive() throws IOException {
+        Path archive = Files.createTempFile("tweets", ".twa");
+        Path blocks = TweetBlockIndex.sidecar(archive);
+        try {
+            TweetArchive.write(tweets, archive);
+            TweetBlockIndex.of(tweets, 500).write(blocks);
+            TweetBlockIndex index = TweetBlockIndex.read(TweetArchive.open(archive), blocks);
+
+            TweetBlockIndex.Scan scan = index.writtenBy("user7");
+            List<Tweet> expected = Filter.writtenBy(tweets, "user7");
+            assertEquals("expected same number of tweets", expected.size(), scan.getTweets().size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals("expected same tweet", expected.get(i).getId(), scan.getTweets().get(i).getId());
+            }
+            assertTrue("expected some blocks skipped", scan.getBlocksSkipped() > 0);
+        } finally {
+            Files.deleteIfExists(blocks);
+            Files.delete(archive);
+        }
+    }
+
+    // This test covers a file built from a different number of tweets
+    @Test(expected=IOException.class)
+    public void testMismatchedFile() throws IOException {
+        Path blocks = Files.createTempFile("tweets", ".blocks");
+        try {
+            TweetBlockIndex.of(tweets).write(blocks);
+            TweetBlockIndex.read(tweets.subList(0, 10), blocks);
+        } finally {
+            Files.delete(blocks);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.time.Instant;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+import org.junit.Test;
+
+public class TweetDecoderTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final String CREATED_AT = "\"Wed Feb 17 10:00:00 +0000 2016\"";
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetDecoder.decode
+     *
+     * Partition the inputs as follows:
+     *  screen name: nested user.screen_name, flattened "user.screen_name" key,
+     *               nested user object without screen_name
+     *  other members: none, scalars, nested objects and arrays (including
+     *                 members named like projected fields)
+     *  field order: as in the sample, different
+     *  id: number, string
+     *  projected fields: all present, one missing
+     * Also check that the parser is left just after the tweet's END_OBJECT.
+     */
+
+    // This test covers flattened key, no other members, sample order, number id
+    @Test
+    public void testFlattenedScreenName() {
+        Tweet tweet = decode("{\"id\":1,\"user.screen_name\":\"alyssa\",\"text\":\"hi\",\"created_at\":" + CREATED_AT + "}");
+
+        assertEquals("expected tweet", new Tweet(1, "alyssa", "hi", d1), tweet);
+    }
+
+    // This test covers nested screen name, nested members named like
+    // projected fields, different field order, string id
+    @Test
+    public void testNestedScreenNameAndDifferentOrder() {
+        Tweet tweet = decode("{\"created_at\":" + CREATED_AT
+                + ",\"user\":{\"id\":99,\"text\":\"bio\",\"screen_name\":\"bbitdiddle\",\"lang\":null}"
+                + ",\"text\":\"rivest talk\",\"id\":\"2\"}");
+
+        assertEquals("expected tweet", new Tweet(2, "bbitdiddle", "rivest talk", d1), tweet);
+    }
+
+    // This test covers nested objects and arrays, scalars, user object
+    // without screen_name
+    @Test
+    public void testSkipsNestedValues() {
+        Tweet tweet = decode("{\"id\":3,\"user.screen_name\":\"alyssa\""
+                + ",\"entities\":{\"hashtags\":[{\"text\":\"hype\",\"indices\":[1,[5,{\"id\":7}]]}],\"urls\":[]}"
+                + ",\"favorited\":false,\"retweet_count\":0,\"coordinates\":null"
+                + ",\"user\":{\"followers_count\":42}"
+                + ",\"text\":\"talk\",\"created_at\":" + CREATED_AT + "}");
+
+        assertEquals("expected tweet", new Tweet(3, "alyssa", "talk", d1), tweet);
+    }
+
+    // This test covers one projected field missing
+    @Test(expected=JsonException.class)
+    public void testMissingField() {
+        decode("{\"id\":4,\"user\":{\"screen_name\":\"alyssa\"},\"created_at\":" + CREATED_AT + "}");
+    }
+
+    // This test covers the parser's position after decoding
+    @Test
+    public void testParserLeftAfterTweet() {
+        String tweet = "{\"id\":5,\"user\":{\"screen_name\":\"alyssa\",\"entities\":[{}]},\"text\":\"a\",\"created_at\":"
+                + CREATED_AT + "}";
+        try (JsonParser parser = Json.createParser(new StringReader("[" + tweet + "," + tweet + "]"))) {
+            assertEquals("expected array", JsonParser.Event.START_ARRAY, parser.next());
+            for (int i = 0; i < 2; i++) {
+                assertEquals("expected object", JsonParser.Event.START_OBJECT, parser.next());
+                assertEquals("expected tweet", 5, TweetDecoder.decode(parser).getId());
+            }
+            assertEquals("expected end of array", JsonParser.Event.END_ARRAY, parser.next());
+        }
+    }
+
+    private static Tweet decode(String json) {
+        try (JsonParser parser = Json.createParser(new StringReader(json))) {
+            assertEquals("expected object", JsonParser.Event.START_OBJECT, parser.next());
+            return TweetDecoder.decode(parser);
+        }
+    }
+}
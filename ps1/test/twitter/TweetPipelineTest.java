@@ -0,0 +1,74 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class TweetPipelineTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T12:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "talk with @bbitdiddle and @Ernie", d2);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "@ernie rivest talk in 30 minutes", d3);
+    private static final Tweet tweet3 = new Tweet(3, "Alyssa", "again @ERNIE, and myself @alyssa", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetPipeline
+     *
+     * Partition the inputs as follows:
+     *  batches accepted: 0, 1, > 1
+     *  later batch: extends timespan earlier, later; repeats an edge; adds an edge
+     *  mentions: of another user, of the author (self), differing in case
+     */
+
+    // This test covers 0 batches
+    @Test(expected=IllegalStateException.class)
+    public void testNoTweetsHasNoTimespan() {
+        new TweetPipeline().getTimespan();
+    }
+
+    // This test covers 1 batch, mentions of another user differing in case
+    @Test
+    public void testOneBatch() {
+        TweetPipeline pipeline = new TweetPipeline();
+        pipeline.accept(Arrays.asList(tweet1, tweet2));
+
+        assertEquals("expected timespan", new Timespan(d2, d3), pipeline.getTimespan());
+        assertEquals("expected mentions", new HashSet<>(Arrays.asList("bbitdiddle", "ernie")), pipeline.getMentionedUsers());
+        assertEquals("expected top influencer", Arrays.asList("ernie", "bbitdiddle"), pipeline.topInfluencers(2));
+    }
+
+    // This test covers > 1 batch, earlier timespan, repeated edge, self mention
+    @Test
+    public void testLaterBatchUpdatesResults() {
+        TweetPipeline pipeline = new TweetPipeline();
+        pipeline.accept(Arrays.asList(tweet1, tweet2));
+        pipeline.accept(Arrays.asList(tweet3));
+
+        Map<String, Set<String>> expected = new HashMap<>();
+        expected.put("alyssa", new HashSet<>(Arrays.asList("bbitdiddle", "ernie")));
+        expected.put("bbitdiddle", new HashSet<>(Arrays.asList("ernie")));
+
+        assertEquals("expected timespan", new Timespan(d1, d3), pipeline.getTimespan());
+        assertEquals("expected graph", expected, pipeline.getFollowsGraph());
+        assertEquals("expected tweet count", 3, pipeline.getTweetCount());
+        assertEquals("expected ranking", Arrays.asList("ernie", "bbitdiddle"), pipeline.topInfluencers(10));
+    }
+}
@@ -0,0 +1,273 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class TweetPollerTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d2);
+    private static final Tweet tweet3 = new Tweet(3, "alyssa", "@bbitdiddle see you there", d2);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetPoller.poll
+     *
+     * Partition the server behavior as follows:
+     *  sample: unchanged since last poll, grown by new tweets, repeating an id
+     *  conditional GET: honored (304), ignored (full body again)
+     *  body encoding: identity, gzip
+     *  status: 200, error
+     *  body: well-formed, truncated partway through a tweet
+     *
+     * Testing strategy for TweetPoller.schedule
+     *
+     * Partition as follows:
+     *  listener: returns normally, throws
+     */
+
+    // This test covers first poll, identity encoding, status 200
+    @Test
+    public void testFirstPollReturnsAllTweets() throws IOException {
+        SampleServer server = new SampleServer(false, false);
+        try {
+            server.tweets = Arrays.asList(tweet1, tweet2);
+            TweetPoller poller = new TweetPoller(server.url());
+
+            assertEquals("expected all tweets", Arrays.asList(tweet1, tweet2), poller.poll());
+            assertEquals("expected highest id", 2, poller.getHighestId());
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers unchanged sample, conditional GET honored, gzip
+    @Test
+    public void testUnchangedSampleNotModified() throws IOException {
+        SampleServer server = new SampleServer(true, true);
+        try {
+            server.tweets = Arrays.asList(tweet1, tweet2);
+            TweetPoller poller = new TweetPoller(server.url());
+            poller.poll();
+
+            assertTrue("expected no new tweets", poller.poll().isEmpty());
+            assertEquals("expected second request to be answered 304", 1, server.notModified);
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers grown sample, conditional GET ignored, gzip
+    @Test
+    public void testGrownSampleReturnsOnlyNewTweets() throws IOException {
+        SampleServer server = new SampleServer(false, true);
+        try {
+            server.tweets = Arrays.asList(tweet1, tweet2);
+            TweetPoller poller = new TweetPoller(server.url());
+            poller.poll();
+            server.tweets = Arrays.asList(tweet1, tweet2, tweet3);
+
+            assertEquals("expected only the new tweet", Arrays.asList(tweet3), poller.poll());
+            assertTrue("expected since_id sent", server.lastQuery.contains("since_id=2"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers a sample repeating an id, first poll and later poll
+    @Test
+    public void testRepeatedIdReturnedOnce() throws IOException {
+        SampleServer server = new SampleServer(false, false);
+        try {
+            server.tweets = Arrays.asList(tweet2, tweet1, tweet2);
+            TweetPoller poller = new TweetPoller(server.url());
+
+            assertEquals("expected each id once", Arrays.asList(tweet2, tweet1), poller.poll());
+            server.tweets = Arrays.asList(tweet3, tweet2, tweet3);
+            assertEquals("expected new id once", Arrays.asList(tweet3), poller.poll());
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers error status
+    @Test(expected=IOException.class)
+    public void testErrorStatus() throws IOException {
+        SampleServer server = new SampleServer(false, false);
+        try {
+            server.status = 500;
+            new TweetPoller(server.url()).poll();
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers truncated body followed by a well-formed one,
+    // conditional GET honored
+    @Test
+    public void testFailedPollLosesNoTweets() throws IOException {
+        SampleServer server = new SampleServer(true, false);
+        try {
+            server.tweets = Arrays.asList(tweet1, tweet2);
+            server.truncated = true;
+            TweetPoller poller = new TweetPoller(server.url());
+            try {
+                poller.poll();
+                fail("expected truncated body to fail");
+            } catch (RuntimeException e) {
+                // expected: JSON ends partway through the second tweet
+            }
+            assertEquals("expected nothing seen", Long.MIN_VALUE, poller.getHighestId());
+
+            server.truncated = false;
+            assertEquals("expected every tweet", Arrays.asList(tweet1, tweet2), poller.poll());
+            assertEquals("expected no 304 for the failed response", 0, server.notModified);
+            assertFalse("expected no since_id", server.lastQuery.contains("since_id"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    // This test covers listener throws
+    @Test
+    public void testScheduleSurvivesListenerException() throws Exception {
+        SampleServer server = new SampleServer(false, false);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            server.tweets = Arrays.asList(tweet1);
+            List<List<Tweet>> batches = new CopyOnWriteArrayList<>();
+            CountDownLatch second = new CountDownLatch(2);
+            new TweetPoller(server.url()).schedule(executor, 10, TimeUnit.MILLISECONDS, batch -> {
+                batches.add(batch);
+                second.countDown();
+                if (batches.size() == 1) {
+                    server.tweets = Arrays.asList(tweet1, tweet2);
+                    throw new IllegalStateException("listener failure");
+                }
+            });
+
+            assertTrue("expected polling to continue", second.await(10, TimeUnit.SECONDS));
+            assertEquals("expected batches", Arrays.asList(Arrays.asList(tweet1), Arrays.asList(tweet2)),
+                    batches.subList(0, 2));
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+            server.stop();
+        }
+    }
+
+    /*
+     * Local stand-in for the sample server, serving a JSON array of tweets.
+     */
+    private static class SampleServer {
+
+        private final HttpServer server;
+        private final boolean honorConditional;
+        private final boolean gzip;
+        volatile List<Tweet> tweets = new ArrayList<>();
+        volatile int status = 200;
+        volatile boolean truncated;
+        volatile int notModified;
+        volatile String lastQuery = "";
+
+        SampleServer(boolean honorConditional, boolean gzip) throws IOException {
+            this.honorConditional = honorConditional;
+            this.gzip = gzip;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/tweets", this::handle);
+            server.start();
+        }
+
+        URL url() throws IOException {
+            return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/tweets");
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            lastQuery = String.valueOf(exchange.getRequestURI().getQuery());
+            if (status != 200) {
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+                return;
+            }
+            List<Tweet> sample = tweets;
+            String etag = "\"" + sample.size() + "\"";
+            if (honorConditional && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified++;
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            String json = json(sample);
+            if (truncated) {
+                json = json.substring(0, json.length() - 20);
+            }
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (gzip && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                    out.write(body);
+                }
+                body = compressed.toByteArray();
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+
+        private static String json(List<Tweet> sample) {
+            StringBuilder json = new StringBuilder("[");
+            for (Tweet tweet : sample) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"id\":").append(tweet.getId())
+                    .append(",\"user.screen_name\":\"").append(tweet.getAuthor())
+                    .append("\",\"text\":\"").append(tweet.getText())
+                    .append("\",\"created_at\":\"")
+                    .append(TweetDecoder.CREATED_AT_FORMAT.format(tweet.getTimestamp().atZone(ZoneOffset.UTC)))
+                    .append("\"}");
+            }
+            return json.append(']').toString();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetQueryTest {
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(5_000, 15);
+    private static final Timespan morning = new Timespan(
+            Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+    private static final List<String> words = Arrays.asList("rivest", "MIT");
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetQuery
+     *
+     * Partition the inputs as follows:
+     *  conditions: none, one, all three
+     *  indexes attached: none, some, all
+     *  most selective condition: author, timespan
+     *  index size: matching, not matching the list
+     * Compare results with chained Filter calls over the same tweets.
+     */
+
+    // This test covers no conditions, no indexes
+    @Test
+    public void testNoConditions() {
+        assertEquals("expected all tweets", tweets, TweetQuery.over(tweets).list());
+    }
+
+    // This test covers one condition, no indexes
+    @Test
+    public void testScanWithoutIndexes() {
+        TweetQuery query = TweetQuery.over(tweets).where(TweetQuery.containing(words));
+
+        assertEquals("expected same as Filter", Filter.containing(tweets, words), query.list());
+        assertTrue("expected a scan", query.explain().startsWith("scan"));
+    }
+
+    // This test covers all conditions, all indexes, author most selective
+    @Test
+    public void testAllConditionsAllIndexes() {
+        TweetQuery query = TweetQuery.over(tweets)
+                .using(AuthorIndex.of(tweets)).using(TweetTimeIndex.of(tweets)).using(TweetTextIndex.of(tweets))
+                .where(TweetQuery.inTimespan(morning), TweetQuery.containing(words), TweetQuery.writtenBy("USER3"));
+        List<Tweet> expected = Filter.containing(Filter.inTimespan(Filter.writtenBy(tweets, "USER3"), morning), words);
+
+        assertEquals("expected same as chained Filter", expected, query.list());
+        assertTrue("expected author index to drive", query.explain().startsWith("index writtenBy"));
+    }
+
+    // This test covers some indexes, timespan most selective among indexed
+    @Test
+    public void testSomeIndexes() {
+        Timespan minute = new Timespan(morning.getStart(), morning.getStart().plusSeconds(60));
+        TweetQuery query = TweetQuery.over(tweets).using(TweetTimeIndex.of(tweets))
+                .where(TweetQuery.containing(words), TweetQuery.inTimespan(minute));
+
+        assertEquals("expected same as chained Filter",
+                Filter.containing(Filter.inTimespan(tweets, minute), words), query.list());
+        assertTrue("expected time index to drive", query.explain().startsWith("index inTimespan"));
+    }
+
+    // This test covers index size not matching the list
+    @Test(expected=IllegalArgumentException.class)
+    public void testMismatchedIndex() {
+        TweetQuery.over(tweets).using(AuthorIndex.of(tweets.subList(0, 10)));
+    }
+}
@@ -0,0 +1,79 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares TweetReader's tree-building decoder with the projection decoder
+ * used by StreamingTweetReader, reporting tweets/sec and bytes allocated per
+ * tweet.
+ * 
+ * Usage: TweetReaderBenchmark [tweetCount]
+ */
+public class TweetReaderBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        Path file = Files.createTempFile("tweets", ".json");
+        try {
+            writeJson(Benchmarks.syntheticTweets(count, 6005), file);
+            System.out.println("tweets: " + count + ", file bytes: " + Files.size(file));
+
+            report("TweetReader (tree + map)", count, Benchmarks.best(2, 5,
+                    () -> TweetReader.readTweetsFromWeb(file.toUri().toURL())));
+            report("StreamingTweetReader (projection)", count, Benchmarks.best(2, 5, () -> {
+                try (Stream<Tweet> tweets = StreamingTweetReader.streamTweets(
+                        Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                    return tweets.collect(Collectors.toList());
+                }
+            }));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void report(String name, int count, Benchmarks.Measurement m) {
+        System.out.println(String.format("%-36s %12.0f tweets/s %10.1f bytes/tweet",
+                name, m.perSecond(count), m.bytesPer(count)));
+    }
+
+    /*
+     * Write tweets as a JSON array, padding each with the kind of unused
+     * members a real Twitter payload carries. The screen name uses the
+     * flattened "user.screen_name" key that TweetReader expects.
+     */
+    static void writeJson(List<Tweet> tweets, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write('[');
+            for (int i = 0; i < tweets.size(); i++) {
+                if (i > 0) {
+                    out.write(",\n");
+                }
+                writeTweet(tweets.get(i), out);
+            }
+            out.write("]\n");
+        }
+    }
+
+    static void writeTweet(Tweet tweet, Writer out) throws IOException {
+        out.write("{\"id\":" + tweet.getId()
+                + ",\"id_str\":\"" + tweet.getId() + "\""
+                + ",\"created_at\":\"" + TweetDecoder.CREATED_AT_FORMAT.format(tweet.getTimestamp().atZone(ZoneOffset.UTC)) + "\""
+                + ",\"text\":\"" + tweet.getText() + "\""
+                + ",\"user.screen_name\":\"" + tweet.getAuthor() + "\""
+                + ",\"user\":{\"id\":" + tweet.getAuthor().hashCode()
+                + ",\"followers_count\":42,\"verified\":false,\"lang\":null}"
+                + ",\"entities\":{\"hashtags\":[{\"text\":\"hype\",\"indices\":[1,5]}],\"urls\":[]}"
+                + ",\"retweet_count\":0,\"favorited\":false}");
+    }
+}
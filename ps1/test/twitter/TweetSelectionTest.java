@@ -0,0 +1,113 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetSelectionTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+
+    private static final List<Tweet> tweets = Benchmarks.syntheticTweets(5_000, 17);
+    private static final Timespan morning = new Timespan(
+            Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T12:00:00Z"));
+    private static final List<String> words = Arrays.asList("rivest", "MIT");
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetSelection
+     *
+     * Partition the inputs as follows:
+     *  source.size(): 0, not a multiple of 64, > several rank blocks
+     *  selection: all, none, some
+     *  operation: filter, and, or, andNot, chained filters
+     *  other source: same, different
+     * Compare contents, get(i) and iteration with the list Filter methods.
+     */
+
+    // This test covers source size 0
+    @Test
+    public void testEmptySource() {
+        TweetSelection all = TweetSelection.of(new ArrayList<Tweet>());
+
+        assertTrue("expected empty selection", all.isEmpty());
+        assertFalse("expected no elements", all.iterator().hasNext());
+    }
+
+    // This test covers size not a multiple of 64, selection all and none
+    @Test
+    public void testAllAndNone() {
+        List<Tweet> source = Arrays.asList(tweet1, tweet2);
+        TweetSelection all = TweetSelection.of(source);
+
+        assertEquals("expected whole source", source, all);
+        assertEquals("expected second tweet", tweet2, all.get(1));
+        assertTrue("expected empty selection", Filter.writtenBy(all, "xxx").isEmpty());
+    }
+
+    // This test covers several rank blocks, filter and chained filters
+    @Test
+    public void testChainedFilters() {
+        TweetSelection all = TweetSelection.of(tweets);
+        List<Tweet> expected = Filter.containing(Filter.inTimespan(tweets, morning), words);
+        TweetSelection actual = Filter.containing(Filter.inTimespan(all, morning), words);
+
+        assertEquals("expected same tweets in same order", expected, actual);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("expected same tweet at " + i, expected.get(i), actual.get(i));
+        }
+        assertSame("expected same source", tweets, actual.source());
+    }
+
+    // This test covers and, or, andNot
+    @Test
+    public void testSetAlgebra() {
+        TweetSelection all = TweetSelection.of(tweets);
+        TweetSelection inMorning = Filter.inTimespan(all, morning);
+        TweetSelection byUser = Filter.writtenBy(all, "user3");
+
+        assertEquals("expected and", Filter.inTimespan(Filter.writtenBy(tweets, "user3"), morning),
+                inMorning.and(byUser));
+        List<Tweet> union = new ArrayList<>();
+        List<Tweet> difference = new ArrayList<>();
+        for (Tweet tweet : tweets) {
+            boolean a = inMorning.contains(tweet);
+            boolean b = tweet.getAuthor().equals("user3");
+            if (a || b) {
+                union.add(tweet);
+            }
+            if (a && !b) {
+                difference.add(tweet);
+            }
+        }
+        assertEquals("expected or", union, inMorning.or(byUser));
+        assertEquals("expected andNot", difference, inMorning.andNot(byUser));
+    }
+
+    // This test covers different source
+    @Test(expected=IllegalArgumentException.class)
+    public void testDifferentSources() {
+        TweetSelection.of(tweets).and(TweetSelection.of(new ArrayList<>(tweets)));
+    }
+
+    // This test covers immutability
+    @Test(expected=UnsupportedOperationException.class)
+    public void testImmutable() {
+        TweetSelection.of(tweets).remove(0);
+    }
+}
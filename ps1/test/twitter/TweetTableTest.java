@@ -0,0 +1,106 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetTableTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T11:00:00.500Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d2);
+    private static final Tweet tweet3 = new Tweet(3, "Alyssa", "anydf?", d3);
+
+    private static final List<Tweet> tweets = Arrays.asList(tweet1, tweet2, tweet3);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetTable and the TweetTable overloads in Filter
+     * and Extract
+     *
+     * Partition the inputs as follows:
+     *  table.size(): 0, > 1
+     *  author: absent, present in one spelling, present in several spellings
+     *  timestamps: whole seconds, fractional seconds
+     *  timespan endpoint: equal to a tweet's timestamp, between timestamps
+     * Compare every result with the List<Tweet> version where the spec agrees.
+     */
+
+    // This test covers table.size()>1, whole and fractional seconds, round trip
+    @Test
+    public void testRowsMatchTweets() {
+        TweetTable table = TweetTable.of(tweets);
+
+        assertEquals("expected size", 3, table.size());
+        for (int row = 0; row < tweets.size(); row++) {
+            Tweet tweet = table.tweet(row);
+            assertEquals("expected id", tweets.get(row).getId(), tweet.getId());
+            assertEquals("expected author", tweets.get(row).getAuthor(), tweet.getAuthor());
+            assertEquals("expected text", tweets.get(row).getText(), tweet.getText());
+            assertEquals("expected timestamp", tweets.get(row).getTimestamp(), tweet.getTimestamp());
+        }
+    }
+
+    // This test covers author present in several spellings
+    @Test
+    public void testWrittenByCaseInsensitive() {
+        List<Tweet> writtenBy = Filter.writtenBy(TweetTable.of(tweets), "ALYSSA");
+
+        assertEquals("expected same tweets as list version", Filter.writtenBy(tweets, "ALYSSA"), writtenBy);
+    }
+
+    // This test covers author absent
+    @Test
+    public void testWrittenByAbsentAuthor() {
+        List<Tweet> writtenBy = Filter.writtenBy(TweetTable.of(tweets), "xxx");
+
+        assertTrue("expected empty list", writtenBy.isEmpty());
+    }
+
+    // This test covers timespan endpoints equal to timestamps, fractional seconds
+    @Test
+    public void testInTimespanIncludesEndpoints() {
+        List<Tweet> inTimespan = Filter.inTimespan(TweetTable.of(tweets), new Timespan(d2, d3));
+
+        assertEquals("expected endpoints included", Arrays.asList(tweet2, tweet3), inTimespan);
+    }
+
+    // This test covers timespan endpoints between timestamps
+    @Test
+    public void testInTimespanBetweenTimestamps() {
+        List<Tweet> inTimespan = Filter.inTimespan(TweetTable.of(tweets),
+                new Timespan(d1.plusSeconds(1), d3.minusMillis(1)));
+
+        assertEquals("expected only tweet2", Arrays.asList(tweet2), inTimespan);
+    }
+
+    // This test covers table.size()>1, getTimespan
+    @Test
+    public void testGetTimespan() {
+        assertEquals("expected same timespan as list version",
+                Extract.getTimespan(tweets), Extract.getTimespan(TweetTable.of(Arrays.asList(tweet3, tweet1, tweet2))));
+    }
+
+    // This test covers table.size()=0
+    @Test
+    public void testEmptyTable() {
+        TweetTable table = new TweetTable.Builder().build();
+
+        assertEquals("expected empty table", 0, table.size());
+        assertTrue("expected empty list", Filter.writtenBy(table, "alyssa").isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetTextIndexTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d1);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+    private static final Tweet tweet3 = new Tweet(3, "alyssa", "Talk talk TALK", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetTextIndex
+     *
+     * Partition the inputs as follows:
+     *  words: none indexed, one indexed, several indexed with overlapping postings
+     *  word repeated within a tweet, in different cases
+     *  tweets appended after earlier queries
+     * Compare results with Filter.containing over the same tweets.
+     */
+
+    // This test covers no word indexed
+    @Test
+    public void testNoMatch() {
+        TweetTextIndex index = TweetTextIndex.of(Arrays.asList(tweet1, tweet2));
+
+        assertTrue("expected empty list", index.containing(Arrays.asList("xxx", "rive")).isEmpty());
+    }
+
+    // This test covers one word indexed, repeated within a tweet in different cases
+    @Test
+    public void testRepeatedWord() {
+        TweetTextIndex index = TweetTextIndex.of(Arrays.asList(tweet1, tweet2, tweet3));
+
+        assertArrayEquals("expected each tweet once", new int[] { 0, 1, 2 },
+                index.positionsContaining(Arrays.asList("TaLk")));
+    }
+
+    // This test covers several words with overlapping postings, appending after a query
+    @Test
+    public void testAppendMatchesFilter() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(2_000, 42);
+        TweetTextIndex index = TweetTextIndex.of(tweets.subList(0, 1_000));
+        List<String> words = Arrays.asList("rivest", "MIT", "#hype");
+        index.containing(words);
+        index.addAll(tweets.subList(1_000, 2_000));
+
+        assertEquals("expected same as Filter", Filter.containing(tweets, words), index.containing(words));
+    }
+}
@@ -0,0 +1,89 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TweetTimeIndexTest {
+
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T10:00:00.500Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T11:00:00Z");
+
+    private static final Tweet tweet1 = new Tweet(1, "alyssa", "is it reasonable to talk about rivest so much?", d3);
+    private static final Tweet tweet2 = new Tweet(2, "bbitdiddle", "rivest talk in 30 minutes #hype", d1);
+    private static final Tweet tweet3 = new Tweet(3, "alyssa", "anydf?", d2);
+    private static final Tweet tweet4 = new Tweet(4, "csdg", "sdaf kluio jm", d1);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for TweetTimeIndex
+     *
+     * Partition the inputs as follows:
+     *  tweets.size(): 0, > 1
+     *  input order: sorted, unsorted, with equal timestamps
+     *  timespan: before all, covering all, endpoints on timestamps,
+     *            endpoints differing from timestamps only in nanoseconds
+     *  hits k: fewer than a 64th of tweets.size() (sorted back into list
+     *          order), at least a 64th (through a bitmap)
+     * Compare results with Filter.inTimespan over the same tweets.
+     */
+
+    // This test covers tweets.size()=0
+    @Test
+    public void testEmpty() {
+        assertTrue("expected empty list", TweetTimeIndex.of(Arrays.<Tweet>asList()).inTimespan(new Timespan(d1, d3)).isEmpty());
+    }
+
+    // This test covers unsorted input with equal timestamps, endpoints on timestamps
+    @Test
+    public void testEndpointsIncludedInInputOrder() {
+        TweetTimeIndex index = TweetTimeIndex.of(Arrays.asList(tweet1, tweet2, tweet3, tweet4));
+
+        assertEquals("expected input order", Arrays.asList(tweet2, tweet3, tweet4), index.inTimespan(new Timespan(d1, d2)));
+        assertEquals("expected single instant", Arrays.asList(tweet2, tweet4), index.inTimespan(new Timespan(d1, d1)));
+    }
+
+    // This test covers endpoints differing only in nanoseconds, timespan before all
+    @Test
+    public void testSubSecondEndpoints() {
+        TweetTimeIndex index = TweetTimeIndex.of(Arrays.asList(tweet1, tweet2, tweet3, tweet4));
+
+        assertEquals("expected only tweet3", Arrays.asList(tweet3), index.inTimespan(new Timespan(d1.plusNanos(1), d2)));
+        assertTrue("expected none", index.inTimespan(new Timespan(d1.minusSeconds(10), d1.minusNanos(1))).isEmpty());
+    }
+
+    // This test covers large unsorted input, k on both sides of a 64th of n
+    @Test
+    public void testFewAndManyHits() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(6_400, 13);
+        TweetTimeIndex index = TweetTimeIndex.of(tweets);
+        Instant start = Instant.parse("2016-02-17T12:00:00Z");
+        for (long minutes : new long[] { 1, 10, 22, 23, 60, 600, 1440 }) {
+            Timespan timespan = new Timespan(start.minusSeconds(30 * minutes), start.plusSeconds(30 * minutes));
+            assertEquals("expected same as Filter over " + minutes + " minutes", Filter.inTimespan(tweets, timespan),
+                    Filter.inTimespan(index, timespan));
+        }
+    }
+
+    // This test covers large unsorted input, timespan covering part
+    @Test
+    public void testMatchesFilter() {
+        List<Tweet> tweets = Benchmarks.syntheticTweets(5_000, 7);
+        Timespan timespan = new Timespan(Instant.parse("2016-02-17T06:00:00Z"), Instant.parse("2016-02-17T06:30:00Z"));
+
+        assertEquals("expected same as Filter", Filter.inTimespan(tweets, timespan),
+                Filter.inTimespan(TweetTimeIndex.of(tweets), timespan));
+    }
+}
@@ -0,0 +1,137 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class WindowedFollowsGraphTest {
+
+    private static final Instant d0 = Instant.parse("2016-02-17T09:00:00Z");
+    private static final Instant d1 = Instant.parse("2016-02-17T10:00:00Z");
+    private static final Instant d2 = Instant.parse("2016-02-17T11:00:00Z");
+    private static final Instant d3 = Instant.parse("2016-02-17T12:00:00Z");
+
+    private static final Duration twoHours = Duration.ofHours(2);
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for WindowedFollowsGraph
+     *
+     * Partition the inputs as follows:
+     *  tweet timestamp: newer than end, inside window in order, inside window
+     *    late (older than the newest), older than window, exactly at start
+     *  advanceTo: forwards, backwards
+     *  removeTweet: before eviction, then evicted
+     *  sequence: a day of tweets, compared with rebuilding over the window
+     */
+
+    // This test covers newer than end, in order, advancing forwards
+    @Test
+    public void testEvidenceExpires() {
+        WindowedFollowsGraph graph = new WindowedFollowsGraph(twoHours);
+        graph.addTweet(new Tweet(1, "alyssa", "@bbitdiddle", d1));
+        graph.addTweet(new Tweet(2, "ben", "@bbitdiddle", d2));
+
+        assertEquals("expected two followers", 2, graph.followerCount("bbitdiddle"));
+
+        graph.advanceTo(d3);
+
+        assertEquals("expected one follower left", 1, graph.followerCount("bbitdiddle"));
+        assertEquals("expected one tweet left", 1, graph.tweetCount());
+        assertEquals("expected only ben", Collections.singleton("ben"), graph.asMap().keySet());
+    }
+
+    // This test covers late inside window, older than window, exactly at start, advancing backwards
+    @Test
+    public void testLateTweets() {
+        WindowedFollowsGraph graph = new WindowedFollowsGraph(twoHours);
+        graph.addTweet(new Tweet(1, "alyssa", "@ben", d3));
+
+        assertTrue("expected late tweet added", graph.addTweet(new Tweet(2, "ben", "@alyssa", d2)));
+        assertFalse("expected tweet at start dropped", graph.addTweet(new Tweet(3, "ben", "@carol", d1)));
+        assertFalse("expected old tweet dropped", graph.addTweet(new Tweet(4, "ben", "@dave", d0)));
+
+        graph.advanceTo(d1);
+
+        assertEquals("expected end unchanged", d3, graph.getEnd());
+        assertEquals("expected both tweets", 2, graph.tweetCount());
+
+        graph.advanceTo(d3.plus(Duration.ofMinutes(61)));
+
+        assertEquals("expected late tweet evicted first", Collections.singleton("alyssa"), graph.asMap().keySet());
+    }
+
+    // This test covers remove before eviction
+    @Test
+    public void testRemoveThenEvict() {
+        WindowedFollowsGraph graph = new WindowedFollowsGraph(twoHours);
+        graph.addTweet(new Tweet(1, "alyssa", "@ben", d1));
+        graph.addTweet(new Tweet(2, "alyssa", "@ben", d2));
+
+        assertTrue("expected removed", graph.removeTweet(2));
+        assertEquals("expected edge kept", 1, graph.followerCount("ben"));
+
+        graph.advanceTo(d3);
+
+        assertTrue("expected empty graph", graph.asMap().isEmpty());
+        assertEquals("expected no tweets", 0, graph.tweetCount());
+    }
+
+    // This test covers a day of tweets with some arriving late
+    @Test
+    public void testMatchesRebuildAsWindowSlides() {
+        List<Tweet> tweets = new ArrayList<>(Benchmarks.syntheticTweets(4_000, 23));
+        tweets.sort(Comparator.comparing(Tweet::getTimestamp));
+        // swap neighbours so that some tweets arrive late
+        for (int i = 1; i < tweets.size(); i += 7) {
+            Collections.swap(tweets, i - 1, i);
+        }
+        Duration length = Duration.ofHours(6);
+        WindowedFollowsGraph graph = new WindowedFollowsGraph(length);
+        for (int i = 0; i < tweets.size(); i++) {
+            graph.addTweet(tweets.get(i));
+            if (i % 500 == 499) {
+                assertEquals("expected same as rebuild at " + i,
+                        rebuild(tweets.subList(0, i + 1), graph.getEnd().minus(length), graph.getEnd()),
+                        graph.asMap());
+            }
+        }
+        Map<String, Set<String>> window = graph.asMap();
+        for (String user : graph.influencers()) {
+            int followers = 0;
+            for (Set<String> followees : window.values()) {
+                followers += followees.contains(user) ? 1 : 0;
+            }
+            assertEquals("expected follower count of " + user, followers, graph.followerCount(user));
+        }
+    }
+
+    /*
+     * Follows graph of the tweets sent in (start, end], rebuilt from scratch.
+     */
+    private static Map<String, Set<String>> rebuild(List<Tweet> tweets, Instant start, Instant end) {
+        List<Tweet> inWindow = new ArrayList<>();
+        for (Tweet tweet : tweets) {
+            if (tweet.getTimestamp().isAfter(start) && !tweet.getTimestamp().isAfter(end)) {
+                inWindow.add(tweet);
+            }
+        }
+        return Benchmarks.foldedFollowsGraph(inWindow);
+    }
+}
@@ -0,0 +1,98 @@
+/* Copyright (c) 2007-2016 MIT 6.005 course staff, all rights reserved.
+ * Redistribution of original or derived work requires permission of course staff.
+ */
+package twitter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class WordMatcherTest {
+
+    @Test(expected=AssertionError.class)
+    public void testAssertionsEnabled() {
+        assert false; // make sure assertions are enabled with VM argument: -ea
+    }
+
+    /*
+     * Testing strategy for WordMatcher
+     *
+     * Partition the inputs as follows:
+     *  words.size(): 0, 1, many (more than the initial table size)
+     *  match position: first word, last word, none
+     *  case: same, different, non-ASCII different
+     *  near misses: substring of a text word, word with punctuation attached
+     *  separators: single space, runs of whitespace, tabs/newlines
+     *
+     * Testing strategy for WordMatcher.forEachWord and addFoldedWords
+     *
+     * Partition the inputs as follows:
+     *  text: null, only whitespace, leading/trailing whitespace, repeated words
+     *  visitor: visits every word, stops early
+     */
+
+    // This test covers words.size()=0
+    @Test
+    public void testNoWords() {
+        assertFalse("expected no match", WordMatcher.compile(new ArrayList<>()).matches("anything at all"));
+    }
+
+    // This test covers words.size()=1, first and last word, different case
+    @Test
+    public void testSingleWordPositionsAndCase() {
+        WordMatcher matcher = WordMatcher.compile(Arrays.asList("Obama"));
+
+        assertTrue("expected first word", matcher.matches("obama spoke"));
+        assertTrue("expected last word", matcher.matches("spoke\tto\nOBAMA"));
+        assertFalse("expected no match", matcher.matches("spoke to nobody"));
+    }
+
+    // This test covers near misses
+    @Test
+    public void testWholeWordsOnly() {
+        WordMatcher matcher = WordMatcher.compile(Arrays.asList("talk"));
+
+        assertFalse("expected substring not to match", matcher.matches("talking  talks"));
+        assertFalse("expected punctuation to be part of the word", matcher.matches("let's talk."));
+    }
+
+    // This test covers many words, non-ASCII case
+    @Test
+    public void testManyWords() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            words.add("word" + i);
+        }
+        words.add("\u00c9cole");
+        WordMatcher matcher = WordMatcher.compile(words);
+
+        assertTrue("expected match", matcher.matches("say WORD499 now"));
+        assertTrue("expected non-ASCII match", matcher.matches("\u00e9COLE"));
+        assertFalse("expected no match", matcher.matches("word500 word-1"));
+        assertTrue("expected containsWord", matcher.containsWord("Word0"));
+    }
+
+    // This test covers null and whitespace-only text, leading/trailing
+    // whitespace, repeated words, visitor stopping early
+    @Test
+    public void testForEachWord() {
+        List<String> visited = new ArrayList<>();
+        assertTrue("expected no words", WordMatcher.forEachWord(null, (text, start, end) -> visited.add("x")));
+        assertTrue("expected no words", WordMatcher.forEachWord(" \t\n ", (text, start, end) -> visited.add("x")));
+        assertTrue("expected no words visited", visited.isEmpty());
+
+        assertFalse("expected stop", WordMatcher.forEachWord("\tone  two\nthree ", (text, start, end) -> {
+            visited.add(text.substring(start, end));
+            return visited.size() < 2;
+        }));
+        assertEquals("expected first two words", Arrays.asList("one", "two"), visited);
+
+        List<String> folded = new ArrayList<>();
+        WordMatcher.addFoldedWords(" Rivest rivest RIVEST, talk ", folded);
+        assertEquals("expected every word, folded", Arrays.asList("rivest", "rivest", "rivest,", "talk"), folded);
+    }
+}